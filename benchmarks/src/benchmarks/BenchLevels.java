@@ -0,0 +1,67 @@
+package benchmarks;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+import levels.CompiledLevel;
+import levels.LevelCompiler;
+import levels.TileGrid;
+import levels.Tileset;
+import utilz.LoadSave;
+
+// shared level loading for the benchmarks, levels are named 1..3 like res/lvls
+final class BenchLevels {
+
+	static {
+		configure();
+	}
+
+	private BenchLevels() {
+	}
+
+	// for benchmarks that start the whole game instead of going through the helpers below
+	static void configure() {
+		System.setProperty("java.awt.headless", "true");
+		// compiled levels go under target/ (see benchmarks.properties), never into the user's real cache
+		if (System.getProperty("platformer.levelCache") == null) {
+			System.setProperty("platformer.levelCache", benchLevelCache());
+		}
+	}
+
+	private static String benchLevelCache() {
+		Properties props = new Properties();
+		try (InputStream in = BenchLevels.class.getResourceAsStream("/benchmarks.properties")) {
+			if (in != null) {
+				props.load(in);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		String dir = props.getProperty("platformer.levelCache");
+		if (dir == null) {
+			dir = System.getProperty("java.io.tmpdir") + File.separator + "java-platformer-bench-levels";
+		}
+		return dir;
+	}
+
+	static String fileName(int level) {
+		return level + ".png";
+	}
+
+	static BufferedImage image(int level) {
+		return LoadSave.getSpriteAtlas(LoadSave.LEVELS_FOLDER + "/" + fileName(level));
+	}
+
+	static CompiledLevel compiled(int level) throws IOException {
+		return LevelCompiler.load(fileName(level));
+	}
+
+	static TileGrid grid(int level) throws IOException {
+		return compiled(level).createTileGrid(Tileset.getOutside());
+	}
+
+}
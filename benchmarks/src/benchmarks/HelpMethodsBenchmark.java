@@ -0,0 +1,94 @@
+package benchmarks;
+
+import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import levels.TileGrid;
+import main.Game;
+import utilz.HelpMethods;
+
+/*
+ * The per entity, per tick collision queries. Each invocation runs SAMPLES queries spread over the whole level
+ * with a fixed seed, so the numbers are per query and comparable between runs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HelpMethodsBenchmark {
+
+	private static final int SAMPLES = 1024;
+
+	@Param({ "1", "2", "3" })
+	public int level;
+
+	private TileGrid grid;
+	private Rectangle2D.Float[] boxes = new Rectangle2D.Float[SAMPLES];
+	private Rectangle2D.Float[] others = new Rectangle2D.Float[SAMPLES];
+	private int[] rows = new int[SAMPLES];
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		grid = BenchLevels.grid(level);
+		Random random = new Random(level);
+		float width = 20 * Game.SCALE;
+		float height = 27 * Game.SCALE;
+		int levelWidth = grid.getWidth() * Game.TILES_SIZE;
+		for (int i = 0; i < SAMPLES; i++) {
+			// standing on a tile boundary half the time, like entities do most ticks
+			int row = 1 + random.nextInt(grid.getHeight() - 2);
+			float y = random.nextBoolean() ? (row + 1) * Game.TILES_SIZE - height - 1 : random.nextFloat() * (Game.GAME_HEIGHT - height);
+			float x = random.nextFloat() * (levelWidth - width);
+			boxes[i] = new Rectangle2D.Float(x, y, width, height);
+			// sight checks span up to the five tiles a crab looks ahead
+			float otherX = Math.max(0, Math.min(levelWidth - width, x + (random.nextInt(11) - 5) * Game.TILES_SIZE));
+			others[i] = new Rectangle2D.Float(otherX, y, width, height);
+			rows[i] = (int) (y / Game.TILES_SIZE);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SAMPLES)
+	public void canMoveHere(Blackhole bh) {
+		for (int i = 0; i < SAMPLES; i++) {
+			Rectangle2D.Float b = boxes[i];
+			bh.consume(HelpMethods.canMoveHere(b.x, b.y, b.width, b.height, grid));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SAMPLES)
+	public void isEntityOnFloor(Blackhole bh) {
+		for (int i = 0; i < SAMPLES; i++) {
+			bh.consume(HelpMethods.isEntityOnFloor(boxes[i], grid));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SAMPLES)
+	public void isSightClear(Blackhole bh) {
+		for (int i = 0; i < SAMPLES; i++) {
+			bh.consume(HelpMethods.isSightClear(grid, boxes[i], others[i], rows[i]));
+		}
+	}
+
+}
@@ -0,0 +1,53 @@
+package benchmarks;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entities.Crabby;
+import levels.TileGrid;
+import utilz.HelpMethods;
+
+// reading a level image into tiles and crabs, the image is decoded once outside the measurement
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelParseBenchmark {
+
+	@Param({ "1", "2", "3" })
+	public int level;
+
+	private BufferedImage img;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		img = BenchLevels.image(level);
+	}
+
+	@Benchmark
+	public TileGrid getLevelData() {
+		return HelpMethods.getLevelData(img);
+	}
+
+	@Benchmark
+	public ArrayList<Crabby> getCrabs() {
+		return HelpMethods.getCrabs(img);
+	}
+
+}
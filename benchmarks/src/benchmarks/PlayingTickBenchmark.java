@@ -0,0 +1,76 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entities.Player;
+import gameStates.Gamestate;
+import gameStates.Playing;
+import main.Game;
+
+/*
+ * One full simulation tick of a headless game. The player runs back and forth and attacks
+ * so the enemies keep chasing and fighting instead of settling into idle.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayingTickBenchmark {
+
+	// ticks before the game is put back to the start of the level
+	private static final int ROUND_TICKS = 4000;
+
+	@Param({ "1", "2", "3" })
+	public int level;
+
+	private Game game;
+	private Playing playing;
+	private int tick;
+
+	@Setup(Level.Trial)
+	public void setUp() throws URISyntaxException, IOException {
+		BenchLevels.configure();
+		game = new Game(true);
+		playing = game.getPlaying();
+		for (int i = 1; i < level; i++) {
+			playing.loadNextLevel();
+		}
+		Gamestate.state = Gamestate.PLAYING;
+		playing.setLvlCompleted(false);
+	}
+
+	@Benchmark
+	public void tick() {
+		if (++tick == ROUND_TICKS) {
+			tick = 0;
+			playing.resetAll();
+		}
+		Player player = playing.getPlayer();
+		int phase = (tick / 400) % 4;
+		player.setRight(phase < 2);
+		player.setLeft(phase >= 2);
+		player.setJump(tick % 150 < 3);
+		if (tick % 90 == 0) {
+			player.setAttacking(true);
+		}
+		game.update();
+	}
+
+}
@@ -1,21 +1,57 @@
 package entities;
 
 import gameStates.Playing;
+import gameStates.RenderSnapshot;
 import levels.Level;
+import levels.TileGrid;
+import main.Game;
+import utilz.AtlasRegistry;
 import utilz.LoadSave;
+import utilz.SpriteCache;
+import utilz.SweptCollision;
+import utilz.Viewport;
+import static utilz.Constants.Directions.*;
 import static utilz.Constants.EnemyConstants.*;
-import static utilz.HelpMethods.getCrabs;
+import static utilz.HelpMethods.*;
 
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
 
 public class EnemyManager {
 
+    private static final int ANI_SPEED = 25;
+    private static final float GRAVITY = 0.04f * Game.SCALE;
+    private static final float WALK_SPEED = 0.35f * Game.SCALE;
+    private static final float ATTACK_DISTANCE = Game.TILES_SIZE;
+    private static final int CRABBY_ATTACKBOX_WIDTH = (int) (82 * Game.SCALE);
+    private static final int CRABBY_ATTACKBOX_HEIGHT = (int) (19 * Game.SCALE);
+    private static final int CRABBY_ATTACKBOX_OFFSET_X = (int) (Game.SCALE * 30);
+
+    // from this many live enemies on, the first phase of the tick is split across the enemy workers
+    public static final int DEFAULT_PARALLEL_THRESHOLD = Integer.getInteger("platformer.parallelEnemies", 512);
+    private static final int MIN_CHUNK = 64;
+
     private Playing playing;
-    private BufferedImage[][] crabbyArr;
-    private ArrayList<Crabby> crabbies = new ArrayList<>();
+    private SpriteCache crabbyArr;
+    private EnemyStore store = new EnemyStore();
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private SpatialHash enemyHash = new SpatialHash(256);
+    private int[] queryResult = new int[64];
+
+    // results of the first phase, applied in slot order by the second
+    private int[] pendingDamage = new int[0];
+    private boolean[] finished = new boolean[0];
+
+    private Scratch scratch = new Scratch();
+    private Chunk[] chunks;
+    private RecursiveAction phaseOne;
+    private TileGrid tickLvlData;
+    private Player tickPlayer;
 
     public EnemyManager(Playing playing) {
         this.playing = playing;
@@ -24,60 +60,315 @@ public class EnemyManager {
     }
 
     public void loadEnemies(Level level) {
-        crabbies = level.getCrabs();
+        store.load(level.getCrabs());
+        if (pendingDamage.length < store.getSpawnCount()) {
+            pendingDamage = new int[store.getSpawnCount()];
+            finished = new boolean[store.getSpawnCount()];
+        }
+        registerEnemies();
+    }
+
+    private void registerEnemies() {
+        enemyHash.clear();
+        for (int i = 0; i < store.count; i++) {
+            store.hashId[i] = enemyHash.insert(store.x[i], store.y[i], store.width[i], store.height[i], store.spawnIndex[i]);
+        }
     }
 
     private void loadEnemyImgs() {
-        crabbyArr = new BufferedImage[5][9];
-        BufferedImage temp = LoadSave.getSpriteAtlas(LoadSave.CRABBY_SPRITE);
-        for (int j = 0; j < crabbyArr.length; j++) {
-            for (int i = 0; i < crabbyArr[j].length; i++) {
-                crabbyArr[j][i] = temp.getSubimage(i * CRABBY_WIDTH_DEFAULT, j * CRABBY_HEIGHT_DEFAULT, CRABBY_WIDTH_DEFAULT, CRABBY_HEIGHT_DEFAULT);
+        BufferedImage[][] frames = new BufferedImage[5][9];
+        AtlasRegistry.Atlas atlas = AtlasRegistry.acquire(LoadSave.CRABBY_SPRITE, CRABBY_WIDTH_DEFAULT, CRABBY_HEIGHT_DEFAULT);
+        for (int j = 0; j < frames.length; j++) {
+            for (int i = 0; i < frames[j].length; i++) {
+                frames[j][i] = atlas.getSprite(i, j);
+            }
+        }
+        crabbyArr = new SpriteCache(frames, CRABBY_WIDTH, CRABBY_HEIGHT);
+        atlas.release();
+    }
+
+    /*
+     * Two phases: first every enemy runs its AI against the level and a player that nobody writes to,
+     * possibly on the enemy workers, then the damage, deaths and hash moves are applied in slot order.
+     * Both ways of running the first phase give the same result.
+     */
+    public void update(TileGrid lvlData, Player player) {
+        EnemyStore s = store;
+        int count = s.count;
+        if (count >= parallelThreshold) {
+            updateParallel(lvlData, player);
+        } else {
+            updateRange(0, count, lvlData, player, scratch);
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (pendingDamage[i] != 0) {
+                player.changeHealth(-pendingDamage[i]);
+            }
+        }
+        // backwards, so the enemy swapped into a freed slot has already been looked at
+        for (int i = count - 1; i >= 0; i--) {
+            if (finished[i]) {
+                enemyHash.remove(s.hashId[i]);
+                s.removeAt(i);
+            } else {
+                enemyHash.update(s.hashId[i], s.x[i], s.y[i], s.width[i], s.height[i]);
+            }
+        }
+    }
+
+    private void updateRange(int from, int to, TileGrid lvlData, Player player, Scratch sc) {
+        for (int i = from; i < to; i++) {
+            pendingDamage[i] = 0;
+            finished[i] = !updateEnemy(i, lvlData, player, sc);
+        }
+    }
+
+    private void updateParallel(TileGrid lvlData, Player player) {
+        ForkJoinPool pool = Workers.POOL;
+        if (chunks == null) {
+            chunks = new Chunk[pool.getParallelism() * 4];
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = new Chunk();
+            }
+            phaseOne = new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    ForkJoinTask.invokeAll(chunks);
+                }
+            };
+        }
+        int count = store.count;
+        int size = Math.max(MIN_CHUNK, (count + chunks.length - 1) / chunks.length);
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i].from = Math.min(count, i * size);
+            chunks[i].to = Math.min(count, (i + 1) * size);
+            chunks[i].reinitialize();
+        }
+        tickLvlData = lvlData;
+        tickPlayer = player;
+        phaseOne.reinitialize();
+        pool.invoke(phaseOne);
+        tickLvlData = null;
+        tickPlayer = null;
+    }
+
+    // one tick of crab behaviour, false once the enemy has finished dying; only touches its own slot
+    private boolean updateEnemy(int i, TileGrid lvlData, Player player, Scratch sc) {
+        EnemyStore s = store;
+        Rectangle2D.Float box = sc.box;
+        box.x = s.x[i];
+        box.y = s.y[i];
+        box.width = s.width[i];
+        box.height = s.height[i];
+        if (s.firstUpdate[i]) {
+            if (!isEntityOnFloor(box, lvlData)) {
+                s.inAir[i] = true;
+            }
+            s.firstUpdate[i] = false;
+        }
+        if (s.inAir[i]) {
+            updateInAir(i, lvlData, sc);
+        } else {
+            switch (s.state[i]) {
+                case IDLE:
+                    s.newState(i, RUNNING);
+                    break;
+                case RUNNING:
+                    if (canSeePlayer(i, lvlData, player, box)) {
+                        s.walkDir[i] = player.getHitbox().x > s.x[i] ? RIGHT : LEFT;
+                        if (isPlayerCloseForAttack(i, player)) {
+                            s.newState(i, ATTACK);
+                        }
+                    }
+                    move(i, lvlData, sc);
+                    break;
+                case ATTACK:
+                    if (s.aniIndex[i] == 0) {
+                        s.attackChecked[i] = false;
+                    }
+                    if (s.aniIndex[i] == 3 && !s.attackChecked[i]) {
+                        checkPlayerHit(i, player, sc.attackBox);
+                    }
+                    break;
+                case HIT:
+                    break;
+            }
+        }
+        boolean alive = updateAnimationTick(i);
+        // the attack box follows the hitbox a tick behind, like it always has
+        s.attackX[i] = s.x[i] - CRABBY_ATTACKBOX_OFFSET_X;
+        s.attackY[i] = s.y[i];
+        return alive;
+    }
+
+    private boolean updateAnimationTick(int i) {
+        EnemyStore s = store;
+        s.aniTick[i]++;
+        if (s.aniTick[i] >= ANI_SPEED) {
+            s.aniTick[i] = 0;
+            s.aniIndex[i]++;
+            if (s.aniIndex[i] >= getSpriteAmount(s.type[i], s.state[i])) {
+                s.aniIndex[i] = 0;
+                switch (s.state[i]) {
+                    case ATTACK, HIT -> s.state[i] = IDLE;
+                    case DEAD -> {
+                        return false;
+                    }
+                }
             }
         }
+        return true;
     }
 
-    public void update(int[][] lvlData, Player player) {
-        boolean isAnyActive = false;
-        for (Crabby c : crabbies) {
-            if (c.isActive()) {
-                c.update(lvlData, player);
-                isAnyActive = true;
+    private void updateInAir(int i, TileGrid lvlData, Scratch sc) {
+        EnemyStore s = store;
+        Rectangle2D.Float box = sc.box;
+        SweptCollision.Result sweep = sc.sweep;
+        SweptCollision.sweepY(box, s.fallSpeed[i], lvlData, sweep);
+        s.y[i] = sweep.y;
+        box.y = sweep.y;
+        if (!sweep.hit) {
+            s.fallSpeed[i] += GRAVITY;
+        } else {
+            s.inAir[i] = false;
+            s.tileY[i] = (int) (s.y[i] / Game.TILES_SIZE);
+        }
+    }
+
+    private void move(int i, TileGrid lvlData, Scratch sc) {
+        EnemyStore s = store;
+        Rectangle2D.Float box = sc.box;
+        SweptCollision.Result sweep = sc.sweep;
+        float xSpeed = s.walkDir[i] == LEFT ? -WALK_SPEED : WALK_SPEED;
+
+        SweptCollision.sweepX(box, xSpeed, lvlData, sweep);
+        if (!sweep.hit) {
+            if (isFloor(box, xSpeed, lvlData)) {
+                s.x[i] = sweep.x;
+                box.x = sweep.x;
+                return;
             }
         }
-        if (!isAnyActive) {
+        s.walkDir[i] = s.walkDir[i] == LEFT ? RIGHT : LEFT;
+    }
 
+    private boolean canSeePlayer(int i, TileGrid lvlData, Player player, Rectangle2D.Float box) {
+        int playerTileY = (int) (player.getHitbox().y / Game.TILES_SIZE);
+        if (playerTileY == store.tileY[i]) {
+            int absValue = (int) Math.abs(player.getHitbox().x - store.x[i]);
+            if (absValue <= ATTACK_DISTANCE * 5) {
+                return isSightClear(lvlData, box, player.getHitbox(), store.tileY[i]);
+            }
         }
+        return false;
     }
 
-    public void draw(Graphics g, int xLvlOffset) {
-        drawCrabs(g, xLvlOffset);
+    private boolean isPlayerCloseForAttack(int i, Player player) {
+        int absValue = (int) Math.abs(player.getHitbox().x - store.x[i]);
+        return absValue <= ATTACK_DISTANCE;
+    }
+
+    // the damage is only recorded here, the second phase hands it to the player
+    private void checkPlayerHit(int i, Player player, Rectangle2D.Float attackBox) {
+        attackBox.x = store.attackX[i];
+        attackBox.y = store.attackY[i];
+        attackBox.width = CRABBY_ATTACKBOX_WIDTH;
+        attackBox.height = CRABBY_ATTACKBOX_HEIGHT;
+        if (attackBox.intersects(player.getHitbox())) {
+            pendingDamage[i] = getEnemyDmg(store.type[i]);
+        }
+        store.attackChecked[i] = true;
+    }
+
+    public void draw(Graphics g, Viewport viewport, RenderSnapshot frame) {
+        drawCrabs(g, viewport, frame);
     }
 
 
 
-    private void drawCrabs(Graphics g, int xLvlOffset) {
-        for (Crabby c : crabbies) {
-            if (c.isActive()) {
-                g.drawImage(crabbyArr[c.getEnemyState()][c.getAniIndex()], (int) c.getHitbox().x - xLvlOffset - CRABBY_DRAWOFFSET_X + c.flipX(),
-                        (int) c.getHitbox().y - CRABBY_DRAWOFFSET_Y, CRABBY_WIDTH * c.flipW(), CRABBY_HEIGHT, null);
-//                c.drawAttackBox(g, xLvlOffset);
+    private void drawCrabs(Graphics g, Viewport viewport, RenderSnapshot frame) {
+        int xLvlOffset = viewport.getXLvlOffset();
+        for (int i = 0; i < frame.enemyCount; i++) {
+            if (viewport.isVisible(frame.enemyX[i] - CRABBY_DRAWOFFSET_X, CRABBY_WIDTH)) {
+                g.drawImage(crabbyArr.getFrame(frame.enemyState[i], frame.enemyAniIndex[i], frame.enemyFlipped[i]), (int) frame.enemyX[i] - xLvlOffset - CRABBY_DRAWOFFSET_X,
+                        (int) frame.enemyY[i] - CRABBY_DRAWOFFSET_Y, null);
             }
         }
     }
 
     public void checkEnemyHit(Rectangle2D.Float attackBox) {
-        for (Crabby c : crabbies) {
-            if (attackBox.intersects(c.getHitbox())) {
-                c.hurt(10);
-                return;
+        // only enemies near the attack box, the lowest spawn index wins like the old list scan
+        int found = enemyHash.queryRect(attackBox, queryResult);
+        if (found > queryResult.length) {
+            queryResult = new int[Integer.highestOneBit(found) << 1];
+            found = enemyHash.queryRect(attackBox, queryResult);
+        }
+        int first = -1;
+        for (int i = 0; i < found; i++) {
+            int spawn = enemyHash.getUserData(queryResult[i]);
+            if (first == -1 || spawn < first) {
+                first = spawn;
             }
         }
+        if (first != -1) {
+            hurt(store.getSlotOfSpawn(first), 10);
+        }
+    }
+
+    private void hurt(int i, int amount) {
+        store.health[i] -= amount;
+        if (store.health[i] <= 0) {
+            store.newState(i, DEAD);
+        } else {
+            store.newState(i, HIT);
+        }
     }
 
     public void resetAllEnemies() {
-        for (Crabby c : crabbies) {
-            c.resetEnemy();
+        store.reset();
+        registerEnemies();
+    }
+
+    // scratch boxes so the collision helpers can work on one slot at a time, one set per thread
+    private static final class Scratch {
+        final Rectangle2D.Float box = new Rectangle2D.Float();
+        final Rectangle2D.Float attackBox = new Rectangle2D.Float();
+        final SweptCollision.Result sweep = new SweptCollision.Result();
+    }
+
+    private final class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Scratch scratch = new Scratch();
+        private int from, to;
+
+        @Override
+        protected void compute() {
+            updateRange(from, to, tickLvlData, tickPlayer, scratch);
         }
     }
+
+    // only started once a level actually has enough enemies, daemon so it never keeps the game alive
+    private static final class Workers {
+        static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            t.setName("enemy-worker-" + t.getPoolIndex());
+            t.setDaemon(true);
+            return t;
+        }, null, false);
+    }
+
+    // 1 always uses the workers, Integer.MAX_VALUE never does
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public EnemyStore getStore() {
+        return store;
+    }
+
+    public SpatialHash getEnemyHash() {
+        return enemyHash;
+    }
 }
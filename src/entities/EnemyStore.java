@@ -0,0 +1,178 @@
+package entities;
+
+import java.util.List;
+
+import static utilz.Constants.Directions.*;
+import static utilz.Constants.EnemyConstants.*;
+
+/*
+ * Every enemy of the level as parallel primitive arrays. Live enemies always fill slots 0..count-1,
+ * a dead one is swap-removed so loops never step over it. Resetting rebuilds everything from the spawn template.
+ * Slots move when enemies die, the spawn index is the stable identity of an enemy.
+ */
+public class EnemyStore {
+
+    // spawn template, indexed by spawn index
+    private int spawnCount;
+    private float[] spawnX = new float[0], spawnY = new float[0], spawnWidth = new float[0], spawnHeight = new float[0];
+    private int[] spawnType = new int[0];
+    private int[] slotOfSpawn = new int[0];
+
+    // live state, indexed by slot
+    int count;
+    float[] x = new float[0], y = new float[0], width = new float[0], height = new float[0];
+    float[] fallSpeed = new float[0], attackX = new float[0], attackY = new float[0];
+    int[] type = new int[0], state = new int[0], aniIndex = new int[0], aniTick = new int[0];
+    int[] walkDir = new int[0], health = new int[0], tileY = new int[0];
+    int[] spawnIndex = new int[0], hashId = new int[0];
+    boolean[] inAir = new boolean[0], firstUpdate = new boolean[0], attackChecked = new boolean[0];
+
+    public void load(List<? extends Enemy> enemies) {
+        spawnCount = enemies.size();
+        allocate(spawnCount);
+        for (int i = 0; i < spawnCount; i++) {
+            Enemy e = enemies.get(i);
+            spawnX[i] = e.getHitbox().x;
+            spawnY[i] = e.getHitbox().y;
+            spawnWidth[i] = e.getHitbox().width;
+            spawnHeight[i] = e.getHitbox().height;
+            spawnType[i] = e.getEnemyType();
+        }
+        reset();
+    }
+
+    private void allocate(int size) {
+        if (spawnX.length >= size) {
+            return;
+        }
+        spawnX = new float[size];
+        spawnY = new float[size];
+        spawnWidth = new float[size];
+        spawnHeight = new float[size];
+        spawnType = new int[size];
+        slotOfSpawn = new int[size];
+        x = new float[size];
+        y = new float[size];
+        width = new float[size];
+        height = new float[size];
+        fallSpeed = new float[size];
+        attackX = new float[size];
+        attackY = new float[size];
+        type = new int[size];
+        state = new int[size];
+        aniIndex = new int[size];
+        aniTick = new int[size];
+        walkDir = new int[size];
+        health = new int[size];
+        tileY = new int[size];
+        spawnIndex = new int[size];
+        hashId = new int[size];
+        inAir = new boolean[size];
+        firstUpdate = new boolean[size];
+        attackChecked = new boolean[size];
+    }
+
+    // every enemy back alive at its spawn, in spawn order
+    public void reset() {
+        count = spawnCount;
+        for (int i = 0; i < spawnCount; i++) {
+            x[i] = spawnX[i];
+            y[i] = spawnY[i];
+            width[i] = spawnWidth[i];
+            height[i] = spawnHeight[i];
+            type[i] = spawnType[i];
+            fallSpeed[i] = 0;
+            attackX[i] = spawnX[i];
+            attackY[i] = spawnY[i];
+            state[i] = IDLE;
+            aniIndex[i] = 0;
+            aniTick[i] = 0;
+            walkDir[i] = LEFT;
+            health[i] = getMaxHealth(spawnType[i]);
+            tileY[i] = 0;
+            spawnIndex[i] = i;
+            hashId[i] = -1;
+            inAir[i] = false;
+            firstUpdate[i] = true;
+            attackChecked[i] = false;
+            slotOfSpawn[i] = i;
+        }
+    }
+
+    // moves the last live enemy into the slot, the caller revisits the slot if it is iterating
+    void removeAt(int slot) {
+        int last = --count;
+        slotOfSpawn[spawnIndex[slot]] = -1;
+        if (slot == last) {
+            return;
+        }
+        x[slot] = x[last];
+        y[slot] = y[last];
+        width[slot] = width[last];
+        height[slot] = height[last];
+        fallSpeed[slot] = fallSpeed[last];
+        attackX[slot] = attackX[last];
+        attackY[slot] = attackY[last];
+        type[slot] = type[last];
+        state[slot] = state[last];
+        aniIndex[slot] = aniIndex[last];
+        aniTick[slot] = aniTick[last];
+        walkDir[slot] = walkDir[last];
+        health[slot] = health[last];
+        tileY[slot] = tileY[last];
+        spawnIndex[slot] = spawnIndex[last];
+        hashId[slot] = hashId[last];
+        inAir[slot] = inAir[last];
+        firstUpdate[slot] = firstUpdate[last];
+        attackChecked[slot] = attackChecked[last];
+        slotOfSpawn[spawnIndex[slot]] = slot;
+    }
+
+    void newState(int slot, int enemyState) {
+        state[slot] = enemyState;
+        aniTick[slot] = 0;
+        aniIndex[slot] = 0;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getSpawnCount() {
+        return spawnCount;
+    }
+
+    // -1 once that enemy has died
+    public int getSlotOfSpawn(int spawn) {
+        return slotOfSpawn[spawn];
+    }
+
+    public int getSpawnIndex(int slot) {
+        return spawnIndex[slot];
+    }
+
+    public float getX(int slot) {
+        return x[slot];
+    }
+
+    public float getY(int slot) {
+        return y[slot];
+    }
+
+    public int getState(int slot) {
+        return state[slot];
+    }
+
+    public int getAniIndex(int slot) {
+        return aniIndex[slot];
+    }
+
+    public int getHealth(int slot) {
+        return health[slot];
+    }
+
+    public boolean isFlipped(int slot) {
+        return walkDir[slot] == RIGHT;
+    }
+
+}
@@ -8,17 +8,22 @@ import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 
 import gameStates.Playing;
+import gameStates.RenderSnapshot;
+import levels.TileGrid;
 import main.Game;
+import utilz.AtlasRegistry;
 import utilz.LoadSave;
+import utilz.SpriteCache;
+import utilz.SweptCollision;
 
 public class Player extends Entity {
-	private BufferedImage[][] animations;
+	private SpriteCache animations;
 	private int aniTick, aniIndex, aniSpeed = 25;
 	private int playerAction = IDLE;
 	private boolean moving = false, attacking = false;
 	private boolean left, up, right, down, jump;
 	private float playerSpeed = 1.0f * Game.SCALE;
-	private int[][] lvlData;
+	private TileGrid lvlData;
 	private float xDrawOffset = 21 * Game.SCALE;
 	private float yDrawOffset = 4 * Game.SCALE;
 
@@ -28,6 +33,7 @@ public class Player extends Entity {
 	private float jumpSpeed = -2.25f * Game.SCALE;
 	private float fallSpeedAfterCollision = 0.5f * Game.SCALE;
 	private boolean inAir = false;
+	private SweptCollision.Result sweep = new SweptCollision.Result();
 
 	// StatusBarUI
 	private BufferedImage statusBarImg;
@@ -47,8 +53,7 @@ public class Player extends Entity {
 
 	// Attack Box
 	private Rectangle2D.Float attackBox;
-	private int flipX = 0;
-	private int flipW = 1;
+	private boolean flipped;
 	private boolean attackChecked;
 	private Playing playing;
 
@@ -105,13 +110,14 @@ public class Player extends Entity {
 		healthWidth = (int) ((currentHealth / (float) (maxHealth)) * healthBarWidth);
 	}
 
-	public void render(Graphics g, int lvlOffset) {
-		g.drawImage(animations[playerAction][aniIndex], (int) (hitbox.x - xDrawOffset) - lvlOffset + flipX, (int) (hitbox.y - yDrawOffset), width * flipW, height, null);
-		drawUI(g);
+	public void render(Graphics g, RenderSnapshot frame) {
+		int lvlOffset = (int) frame.xLvlOffset;
+		g.drawImage(animations.getFrame(frame.playerAction, frame.playerAniIndex, frame.playerFlipped), (int) (frame.playerX - xDrawOffset) - lvlOffset, (int) (frame.playerY - yDrawOffset), null);
+		drawUI(g, frame.healthWidth);
 	}
 
-	private void drawUI(Graphics g) {
-		g.drawImage(statusBarImg, statusBarX, statusBarY, statusBarWidth, statusBarHeight, null);
+	private void drawUI(Graphics g, int healthWidth) {
+		g.drawImage(statusBarImg, statusBarX, statusBarY, null);
 		g.setColor(Color.RED);
 		g.fillRect(healthBarXStart + statusBarX, healthBarYStart + statusBarY, healthWidth, healthBarHeight);
 	}
@@ -183,13 +189,11 @@ public class Player extends Entity {
 
 		if (left) {
 			xSpeed -= playerSpeed;
-			flipX = width;
-			flipW = -1;
+			flipped = true;
 		}
 		if (right) {
 			xSpeed += playerSpeed;
-			flipX = 0;
-			flipW = 1;
+			flipped = false;
 		}
 
 		if (!inAir) {
@@ -198,12 +202,12 @@ public class Player extends Entity {
 			}
 		}
 		if (inAir) {
-			if (canMoveHere(hitbox.x, hitbox.y + airSpeed, hitbox.width, hitbox.height, lvlData)) {
-				hitbox.y += airSpeed;
+			SweptCollision.sweepY(hitbox, airSpeed, lvlData, sweep);
+			hitbox.y = sweep.y;
+			if (!sweep.hit) {
 				airSpeed += gravity;
 				updateXPos(xSpeed);
 			} else {
-				hitbox.y = getEntityYPosUnderRoofOrAboveFloor(hitbox, airSpeed);
 				if (airSpeed > 0) {
 					restInAir();
 				} else {
@@ -231,11 +235,10 @@ public class Player extends Entity {
 	}
 
 	private void updateXPos(float xSpeed) {
-		if (canMoveHere(hitbox.x + xSpeed, hitbox.y, hitbox.width, hitbox.height, lvlData)) {
-			hitbox.x += xSpeed;
+		SweptCollision.sweepX(hitbox, xSpeed, lvlData, sweep);
+		hitbox.x = sweep.x;
+		if (!sweep.hit) {
 			moving = true;
-		} else {
-			hitbox.x = getEntityXPosNextToWall(hitbox, xSpeed);
 		}
 	}
 
@@ -252,17 +255,22 @@ public class Player extends Entity {
 
 	private void loadAnimations() {
 
-		BufferedImage img = LoadSave.getSpriteAtlas(LoadSave.PLAYER_ATLAS);
+		AtlasRegistry.Atlas atlas = AtlasRegistry.acquire(LoadSave.PLAYER_ATLAS, 64, 40);
 
-		animations = new BufferedImage[7][8];
-		for (int j = 0; j < animations.length; j++)
-			for (int i = 0; i < animations[j].length; i++)
-				animations[j][i] = img.getSubimage(i * 64, j * 40, 64, 40);
+		BufferedImage[][] frames = new BufferedImage[7][8];
+		for (int j = 0; j < frames.length; j++)
+			for (int i = 0; i < frames[j].length; i++)
+				frames[j][i] = atlas.getSprite(i, j);
+		animations = new SpriteCache(frames, width, height);
+		// the cache holds its own scaled copies
+		atlas.release();
 
-		statusBarImg = LoadSave.getSpriteAtlas(LoadSave.STATUS_BAR);
+		AtlasRegistry.Atlas statusBar = AtlasRegistry.acquire(LoadSave.STATUS_BAR);
+		statusBarImg = SpriteCache.prescale(statusBar.getImage(), statusBarWidth, statusBarHeight);
+		statusBar.release();
 	}
 
-	public void loadLvlData(int[][] lvlData) {
+	public void loadLvlData(TileGrid lvlData) {
 		this.lvlData = lvlData;
 		if (!isEntityOnFloor(hitbox, lvlData)) {
 			inAir = true;
@@ -277,6 +285,22 @@ public class Player extends Entity {
 		down = false;
 	}
 
+	public int getPlayerAction() {
+		return playerAction;
+	}
+
+	public int getAniIndex() {
+		return aniIndex;
+	}
+
+	public boolean isFlipped() {
+		return flipped;
+	}
+
+	public int getHealthWidth() {
+		return healthWidth;
+	}
+
 	public void setAttacking(boolean attacking) {
 		this.attacking = attacking;
 	}
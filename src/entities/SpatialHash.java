@@ -0,0 +1,203 @@
+package entities;
+
+import java.awt.geom.Rectangle2D;
+
+import main.Game;
+
+public class SpatialHash {
+
+	private static final int CELL_SIZE = Game.TILES_SIZE;
+
+	private final int bucketMask;
+	private int[][] buckets;
+	private int[] bucketSizes;
+
+	// per entry data, indexed by the id handed out from insert
+	private float[] minX = new float[0], minY = new float[0], maxX = new float[0], maxY = new float[0];
+	private int[] cellX0 = new int[0], cellY0 = new int[0], cellX1 = new int[0], cellY1 = new int[0];
+	private int[] userData = new int[0];
+	private int[] queryStamps = new int[0];
+	private int[] freeIds = new int[0];
+	private int freeCount, idCount;
+	private int stamp;
+
+	public SpatialHash(int bucketCount) {
+		int size = Integer.highestOneBit(Math.max(bucketCount, 16) - 1) << 1;
+		bucketMask = size - 1;
+		buckets = new int[size][4];
+		bucketSizes = new int[size];
+	}
+
+	public int insert(Rectangle2D.Float box, int data) {
+		return insert(box.x, box.y, box.width, box.height, data);
+	}
+
+	public int insert(float x, float y, float width, float height, int data) {
+		int id;
+		if (freeCount > 0) {
+			id = freeIds[--freeCount];
+		} else {
+			id = idCount++;
+			ensureIdCapacity(idCount);
+		}
+		userData[id] = data;
+		setBounds(id, x, y, width, height);
+		addToCells(id);
+		return id;
+	}
+
+	public void update(int id, Rectangle2D.Float box) {
+		update(id, box.x, box.y, box.width, box.height);
+	}
+
+	public void update(int id, float x, float y, float width, float height) {
+		int x0 = cell(x), y0 = cell(y);
+		int x1 = cell(x + width), y1 = cell(y + height);
+		if (x0 == cellX0[id] && y0 == cellY0[id] && x1 == cellX1[id] && y1 == cellY1[id]) {
+			setBounds(id, x, y, width, height);
+			return;
+		}
+		removeFromCells(id);
+		setBounds(id, x, y, width, height);
+		addToCells(id);
+	}
+
+	public void remove(int id) {
+		removeFromCells(id);
+		if (freeCount == freeIds.length) {
+			freeIds = grow(freeIds, freeCount * 2 + 8);
+		}
+		freeIds[freeCount++] = id;
+	}
+
+	public void clear() {
+		for (int i = 0; i < bucketSizes.length; i++) {
+			bucketSizes[i] = 0;
+		}
+		idCount = 0;
+		freeCount = 0;
+	}
+
+	public int getUserData(int id) {
+		return userData[id];
+	}
+
+	// ids of every entry overlapping the rectangle; returns how many there are, a count above out.length means out was too small
+	public int queryRect(float x, float y, float width, float height, int[] out) {
+		int found = 0;
+		int x0 = cell(x), y0 = cell(y);
+		int x1 = cell(x + width), y1 = cell(y + height);
+		nextStamp();
+		for (int cy = y0; cy <= y1; cy++) {
+			for (int cx = x0; cx <= x1; cx++) {
+				int b = bucket(cx, cy);
+				int[] entries = buckets[b];
+				for (int i = 0; i < bucketSizes[b]; i++) {
+					int id = entries[i];
+					if (queryStamps[id] == stamp) {
+						continue;
+					}
+					queryStamps[id] = stamp;
+					if (minX[id] < x + width && maxX[id] > x && minY[id] < y + height && maxY[id] > y) {
+						if (found < out.length) {
+							out[found] = id;
+						}
+						found++;
+					}
+				}
+			}
+		}
+		return found;
+	}
+
+	public int queryRect(Rectangle2D.Float box, int[] out) {
+		return queryRect(box.x, box.y, box.width, box.height, out);
+	}
+
+	private void setBounds(int id, float x, float y, float width, float height) {
+		minX[id] = x;
+		minY[id] = y;
+		maxX[id] = x + width;
+		maxY[id] = y + height;
+		cellX0[id] = cell(x);
+		cellY0[id] = cell(y);
+		cellX1[id] = cell(x + width);
+		cellY1[id] = cell(y + height);
+	}
+
+	private void addToCells(int id) {
+		for (int cy = cellY0[id]; cy <= cellY1[id]; cy++) {
+			for (int cx = cellX0[id]; cx <= cellX1[id]; cx++) {
+				int b = bucket(cx, cy);
+				if (bucketSizes[b] == buckets[b].length) {
+					buckets[b] = grow(buckets[b], buckets[b].length * 2);
+				}
+				buckets[b][bucketSizes[b]++] = id;
+			}
+		}
+	}
+
+	private void removeFromCells(int id) {
+		for (int cy = cellY0[id]; cy <= cellY1[id]; cy++) {
+			for (int cx = cellX0[id]; cx <= cellX1[id]; cx++) {
+				int b = bucket(cx, cy);
+				int[] entries = buckets[b];
+				for (int i = 0; i < bucketSizes[b]; i++) {
+					if (entries[i] == id) {
+						entries[i] = entries[--bucketSizes[b]];
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	private void nextStamp() {
+		stamp++;
+		if (stamp == 0) {
+			// wrapped around, old stamps could collide
+			for (int i = 0; i < queryStamps.length; i++) {
+				queryStamps[i] = 0;
+			}
+			stamp = 1;
+		}
+	}
+
+	private void ensureIdCapacity(int capacity) {
+		if (capacity <= userData.length) {
+			return;
+		}
+		int size = Math.max(capacity, userData.length * 2);
+		minX = grow(minX, size);
+		minY = grow(minY, size);
+		maxX = grow(maxX, size);
+		maxY = grow(maxY, size);
+		cellX0 = grow(cellX0, size);
+		cellY0 = grow(cellY0, size);
+		cellX1 = grow(cellX1, size);
+		cellY1 = grow(cellY1, size);
+		userData = grow(userData, size);
+		queryStamps = grow(queryStamps, size);
+	}
+
+	private int bucket(int cx, int cy) {
+		return ((cx * 73856093) ^ (cy * 19349663)) & bucketMask;
+	}
+
+	private static int cell(float pos) {
+		return (int) Math.floor(pos / CELL_SIZE);
+	}
+
+	private static int[] grow(int[] arr, int size) {
+		int[] bigger = new int[size];
+		System.arraycopy(arr, 0, bigger, 0, arr.length);
+		return bigger;
+	}
+
+	private static float[] grow(float[] arr, int size) {
+		float[] bigger = new float[size];
+		System.arraycopy(arr, 0, bigger, 0, arr.length);
+		return bigger;
+	}
+
+}
@@ -3,6 +3,6 @@ package gameStates;
 public enum Gamestate {
     PLAYING, MENU, OPTIONS, QUIT;
 
-    public static Gamestate state = MENU;
+    public static volatile Gamestate state = MENU;
 
 }
@@ -2,7 +2,9 @@ package gameStates;
 
 import main.Game;
 import ui.MenuButton;
+import utilz.AtlasRegistry;
 import utilz.LoadSave;
+import utilz.Log;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
@@ -19,11 +21,11 @@ public class Menu extends State implements Statemethods {
         super(game);
         loadButtons();
         loadBackground();
-        backgroundImgPink = LoadSave.getSpriteAtlas(LoadSave.MENU_BACKGROUND_IMG);
+        backgroundImgPink = AtlasRegistry.acquire(LoadSave.MENU_BACKGROUND_IMG).getImage();
     }
 
     private void loadBackground() {
-        backgroundImg = LoadSave.getSpriteAtlas(LoadSave.MENU_BACKGROUND);
+        backgroundImg = AtlasRegistry.acquire(LoadSave.MENU_BACKGROUND).getImage();
         menuWidth = (int) (backgroundImg.getWidth() * Game.SCALE);
         menuHeight = (int) (backgroundImg.getHeight() * Game.SCALE);
         menuX = Game.GAME_WIDTH/2 - menuWidth / 2;
@@ -104,7 +106,7 @@ public class Menu extends State implements Statemethods {
     public void keyPressed(KeyEvent e) {
         if (e.getKeyCode() == KeyEvent.VK_ENTER) {
             Gamestate.state = Gamestate.PLAYING;
-            System.out.println(Gamestate.state);
+            Log.debug(() -> "Gamestate " + Gamestate.state);
         }
     }
 
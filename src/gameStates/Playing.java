@@ -1,13 +1,19 @@
 package gameStates;
 
 import entities.EnemyManager;
+import entities.EnemyStore;
 import entities.Player;
 import levels.LevelManager;
 import main.Game;
 import ui.GameOverOverlay;
 import ui.LevelCompletedOverlay;
 import ui.PauseOverlay;
+import utilz.AtlasRegistry;
 import utilz.LoadSave;
+import utilz.SpriteCache;
+import utilz.Timings;
+import utilz.TripleBuffer;
+import utilz.Viewport;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
@@ -23,6 +29,8 @@ import static utilz.Constants.Environment.*;
 
 public class Playing extends State implements Statemethods {
 
+    private static final Color PAUSE_DIM = new Color(0, 0, 0, 150);
+
     private Player player;
     private LevelManager levelManager;
     private EnemyManager enemyManager;
@@ -31,6 +39,7 @@ public class Playing extends State implements Statemethods {
     private LevelCompletedOverlay levelCompletedOverlay;
     private boolean paused = false;
     private int xLvlOffset;
+    private Viewport viewport = new Viewport();
     private int leftBorder = (int) (0.2 * Game.GAME_WIDTH);
     private int rightBorder = (int) (0.8 * Game.GAME_WIDTH);
     private int maxLvlOffsetX;
@@ -40,26 +49,44 @@ public class Playing extends State implements Statemethods {
     private boolean gameOver;
     private boolean lvlCompleted = true;
 
+    // the last two ticks travel together so the renderer never has to keep its own copy
+    private final TripleBuffer<SnapshotPair> snapshots = new TripleBuffer<>(SnapshotPair::new);
+    private RenderSnapshot lastPublished = new RenderSnapshot();
+    private RenderSnapshot frame = new RenderSnapshot();
+    private int generation;
+    private float renderAlpha = 1f;
+
 
     public Playing(Game game) throws URISyntaxException, IOException {
         super(game);
         initClasses();
         r = new Random();
-        backgroundImg = LoadSave.getSpriteAtlas(LoadSave.PLAYING_BG_IMG);
-        bigCloud = LoadSave.getSpriteAtlas(LoadSave.BIG_CLOUDS);
-        smallCloud = LoadSave.getSpriteAtlas(LoadSave.SMALL_CLOUDS);
+        // drawn at one size every frame, so scale them once instead of on every blit
+        backgroundImg = prescale(LoadSave.PLAYING_BG_IMG, GAME_WIDTH, GAME_HEIGHT);
+        bigCloud = prescale(LoadSave.BIG_CLOUDS, BIG_CLOUD_WIDTH, BIG_CLOUD_HEIGHT);
+        smallCloud = prescale(LoadSave.SMALL_CLOUDS, SMALL_CLOUD_WIDTH, SMALL_CLOUD_HEIGHT);
         smallCloudsPos = new int[8];
         for (int i = 0; i < smallCloudsPos.length; i++) {
             smallCloudsPos[i] = (int) (90 * SCALE) + r.nextInt((int) (100 * SCALE));
         }
-//        enemyManager = new EnemyManager(this);
         calcLvlOffset();
         loadStartLevel();
+        publishSnapshot();
+        publishSnapshot();
     }
 
     public void loadNextLevel() {
         resetAll();
         levelManager.loadNextLevel();
+        generation++;
+    }
+
+    // only the scaled copy is kept, the atlas itself goes back to the registry
+    private static BufferedImage prescale(String fileName, int width, int height) {
+        AtlasRegistry.Atlas atlas = AtlasRegistry.acquire(fileName);
+        BufferedImage img = SpriteCache.prescale(atlas.getImage(), width, height);
+        atlas.release();
+        return img;
     }
 
     private void loadStartLevel() {
@@ -72,6 +99,7 @@ public class Playing extends State implements Statemethods {
 
     private void initClasses() throws URISyntaxException, IOException {
         levelManager = new LevelManager(game);
+        enemyManager = new EnemyManager(this);
         player = new Player(200, GAME_HEIGHT - 5 * TILES_SIZE, (int) (64 * SCALE), (int) (40 * SCALE), this);
         player.loadLvlData(levelManager.getCurrentLevel().getLevelData());
         pauseOverlay = new PauseOverlay(this);
@@ -90,16 +118,32 @@ public class Playing extends State implements Statemethods {
 
     @Override
     public void update() {
+        long start = System.nanoTime();
         if (paused) {
             pauseOverlay.update();
         } else if (lvlCompleted) {
             levelCompletedOverlay.update();
         } else if (!gameOver) {
             levelManager.update();
+            long t = System.nanoTime();
             player.update();
+            long t2 = System.nanoTime();
+            Timings.record(Timings.PLAYER_UPDATE, t2 - t);
             enemyManager.update(levelManager.getCurrentLevel().getLevelData(), player);
+            Timings.record(Timings.ENEMY_UPDATE, System.nanoTime() - t2);
             checkCloseToBorder();
         }
+        publishSnapshot();
+        Timings.record(Timings.PLAYING_UPDATE, System.nanoTime() - start);
+    }
+
+    // update thread only; lastPublished stays readable because the writer never gets the slot it just published back
+    private void publishSnapshot() {
+        SnapshotPair pair = snapshots.getWriteBuffer();
+        pair.previous.copyFrom(lastPublished);
+        pair.current.capture(this, xLvlOffset, generation);
+        lastPublished = pair.current;
+        snapshots.publish();
     }
 
     private void checkCloseToBorder() {
@@ -121,31 +165,51 @@ public class Playing extends State implements Statemethods {
 
     @Override
     public void draw(Graphics g) {
-        g.drawImage(backgroundImg, 0, 0, GAME_WIDTH, GAME_HEIGHT, null);
-
-        drawClouds(g);
-
-        levelManager.draw(g, xLvlOffset);
-        player.render(g, xLvlOffset);
-        enemyManager.draw(g, xLvlOffset);
-
-        if (paused) {
-            g.setColor(new Color(0, 0, 0, 150));
+        snapshots.fetch();
+        SnapshotPair pair = snapshots.getReadBuffer();
+        frame.interpolate(pair.previous, pair.current, renderAlpha);
+        int xLvlOffset = (int) frame.xLvlOffset;
+        viewport.beginFrame(xLvlOffset);
+        g.drawImage(backgroundImg, 0, 0, null);
+
+        drawClouds(g, xLvlOffset);
+
+        long t = System.nanoTime();
+        levelManager.draw(g, viewport);
+        long t2 = System.nanoTime();
+        Timings.record(Timings.LEVEL_DRAW, t2 - t);
+        player.render(g, frame);
+        t = System.nanoTime();
+        enemyManager.draw(g, viewport, frame);
+        t2 = System.nanoTime();
+        Timings.record(Timings.ENEMY_DRAW, t2 - t);
+
+        if (frame.paused) {
+            g.setColor(PAUSE_DIM);
             g.fillRect(0,0, Game.GAME_WIDTH, Game.GAME_HEIGHT);
             pauseOverlay.draw(g);
-        } else if (gameOver) {
+        } else if (frame.gameOver) {
             gameOverOverlay.draw(g);
-        } else if (lvlCompleted) {
+        } else if (frame.lvlCompleted) {
             levelCompletedOverlay.draw(g);
+        } else {
+            return;
         }
+        Timings.record(Timings.OVERLAY_DRAW, System.nanoTime() - t2);
     }
 
-    private void drawClouds(Graphics g) {
+    private void drawClouds(Graphics g, int xLvlOffset) {
         for (int i = 0; i < 3; i++) {
-            g.drawImage(bigCloud, i * BIG_CLOUD_WIDTH - (int) (xLvlOffset * 0.3), (int) (204 * SCALE), BIG_CLOUD_WIDTH, BIG_CLOUD_HEIGHT, null);
+            int cloudX = i * BIG_CLOUD_WIDTH - (int) (xLvlOffset * 0.3);
+            if (viewport.isOnScreen(cloudX, BIG_CLOUD_WIDTH)) {
+                g.drawImage(bigCloud, cloudX, (int) (204 * SCALE), null);
+            }
         }
         for (int i = 0; i < smallCloudsPos.length; i++) {
-            g.drawImage(smallCloud, SMALL_CLOUD_WIDTH * 4 * i - (int) (xLvlOffset * 0.7), smallCloudsPos[i], SMALL_CLOUD_WIDTH, SMALL_CLOUD_HEIGHT, null);
+            int cloudX = SMALL_CLOUD_WIDTH * 4 * i - (int) (xLvlOffset * 0.7);
+            if (viewport.isOnScreen(cloudX, SMALL_CLOUD_WIDTH)) {
+                g.drawImage(smallCloud, cloudX, smallCloudsPos[i], null);
+            }
         }
     }
 
@@ -154,12 +218,62 @@ public class Playing extends State implements Statemethods {
         paused = false;
         player.resetAll();
         enemyManager.resetAllEnemies();
+        generation++;
+    }
+
+    // how far the renderer is between the last two ticks, 0..1
+    public void setRenderAlpha(float renderAlpha) {
+        this.renderAlpha = renderAlpha;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public boolean isLvlCompleted() {
+        return lvlCompleted;
     }
 
     public void setGameOver(boolean gameOver) {
         this.gameOver = gameOver;
     }
 
+    public void setLvlCompleted(boolean lvlCompleted) {
+        this.lvlCompleted = lvlCompleted;
+    }
+
+    // folds everything the simulation depends on into h, replays compare it to catch divergence
+    public long computeStateHash(long h) {
+        h = mix(h, (paused ? 1 : 0) | (gameOver ? 2 : 0) | (lvlCompleted ? 4 : 0));
+        h = mix(h, generation);
+        h = mix(h, xLvlOffset);
+        h = mix(h, maxLvlOffsetX);
+        h = mix(h, Float.floatToIntBits(player.getHitbox().x));
+        h = mix(h, Float.floatToIntBits(player.getHitbox().y));
+        h = mix(h, player.getPlayerAction());
+        h = mix(h, player.getAniIndex());
+        h = mix(h, player.getHealthWidth());
+        EnemyStore enemies = enemyManager.getStore();
+        h = mix(h, enemies.getCount());
+        for (int i = 0; i < enemies.getCount(); i++) {
+            h = mix(h, enemies.getSpawnIndex(i));
+            h = mix(h, Float.floatToIntBits(enemies.getX(i)));
+            h = mix(h, Float.floatToIntBits(enemies.getY(i)));
+            h = mix(h, enemies.getState(i));
+            h = mix(h, enemies.getAniIndex(i));
+            h = mix(h, enemies.getHealth(i));
+        }
+        return h;
+    }
+
+    private static long mix(long h, long value) {
+        return (h ^ value) * 0x100000001b3L;
+    }
+
     public void checkEnemyHit(Rectangle2D.Float attackBox) {
         enemyManager.checkEnemyHit(attackBox);
     }
@@ -215,6 +329,10 @@ public class Playing extends State implements Statemethods {
         }
     }
 
+    public LevelCompletedOverlay getLevelCompletedOverlay() {
+        return levelCompletedOverlay;
+    }
+
     public void setMaxLvlOffset(int lvlOffset) {
         this.maxLvlOffsetX = lvlOffset;
     }
@@ -223,10 +341,18 @@ public class Playing extends State implements Statemethods {
         paused = false;
     }
 
+    public Viewport getViewport() {
+        return viewport;
+    }
+
     public EnemyManager getEnemyManager() {
         return enemyManager;
     }
 
+    public LevelManager getLevelManager() {
+        return levelManager;
+    }
+
     @Override
     public void keyPressed(KeyEvent e) {
         if (gameOver) {
@@ -265,4 +391,10 @@ public class Playing extends State implements Statemethods {
             }
         }
     }
+
+    private static class SnapshotPair {
+        final RenderSnapshot previous = new RenderSnapshot();
+        final RenderSnapshot current = new RenderSnapshot();
+    }
+
 }
@@ -0,0 +1,127 @@
+package gameStates;
+
+import java.util.Arrays;
+
+import entities.EnemyStore;
+import entities.Player;
+
+/*
+ * Everything Playing needs to draw one frame, copied out of the simulation at the end of a tick.
+ * The renderer only ever reads snapshots, never the live entities.
+ */
+public class RenderSnapshot {
+
+	// bumped on resets and level changes so the renderer doesn't blend across a teleport
+	public int generation;
+	public float xLvlOffset;
+	public boolean paused, gameOver, lvlCompleted;
+
+	public float playerX, playerY;
+	public int playerAction, playerAniIndex, healthWidth;
+	public boolean playerFlipped;
+
+	public int enemyCount, enemySpawnCount;
+	public float[] enemyX = new float[0], enemyY = new float[0];
+	public int[] enemyState = new int[0], enemyAniIndex = new int[0], enemySpawn = new int[0];
+	public boolean[] enemyFlipped = new boolean[0];
+	// scratch for interpolate
+	private int[] prevSlotOfSpawn = new int[0];
+
+	public void capture(Playing playing, int xLvlOffset, int generation) {
+		this.generation = generation;
+		this.xLvlOffset = xLvlOffset;
+		paused = playing.isPaused();
+		gameOver = playing.isGameOver();
+		lvlCompleted = playing.isLvlCompleted();
+
+		Player player = playing.getPlayer();
+		playerX = player.getHitbox().x;
+		playerY = player.getHitbox().y;
+		playerAction = player.getPlayerAction();
+		playerAniIndex = player.getAniIndex();
+		playerFlipped = player.isFlipped();
+		healthWidth = player.getHealthWidth();
+
+		// the store only holds live enemies, so every captured slot gets drawn
+		EnemyStore enemies = playing.getEnemyManager().getStore();
+		ensureCapacity(enemies.getCount());
+		enemyCount = enemies.getCount();
+		enemySpawnCount = enemies.getSpawnCount();
+		for (int i = 0; i < enemyCount; i++) {
+			enemySpawn[i] = enemies.getSpawnIndex(i);
+			enemyX[i] = enemies.getX(i);
+			enemyY[i] = enemies.getY(i);
+			enemyState[i] = enemies.getState(i);
+			enemyAniIndex[i] = enemies.getAniIndex(i);
+			enemyFlipped[i] = enemies.isFlipped(i);
+		}
+	}
+
+	// positions blend from prev to curr by alpha, everything discrete comes from curr
+	public void interpolate(RenderSnapshot prev, RenderSnapshot curr, float alpha) {
+		copyFrom(curr);
+		if (prev.generation != curr.generation) {
+			return;
+		}
+		xLvlOffset = lerp(prev.xLvlOffset, curr.xLvlOffset, alpha);
+		playerX = lerp(prev.playerX, curr.playerX, alpha);
+		playerY = lerp(prev.playerY, curr.playerY, alpha);
+		// slots move when an enemy dies, so enemies are paired up by spawn index, not by slot
+		if (prevSlotOfSpawn.length < enemySpawnCount) {
+			prevSlotOfSpawn = new int[enemySpawnCount];
+		}
+		Arrays.fill(prevSlotOfSpawn, 0, enemySpawnCount, -1);
+		for (int j = 0; j < prev.enemyCount; j++) {
+			if (prev.enemySpawn[j] < enemySpawnCount) {
+				prevSlotOfSpawn[prev.enemySpawn[j]] = j;
+			}
+		}
+		for (int i = 0; i < enemyCount; i++) {
+			int j = prevSlotOfSpawn[enemySpawn[i]];
+			if (j != -1) {
+				enemyX[i] = lerp(prev.enemyX[j], curr.enemyX[i], alpha);
+				enemyY[i] = lerp(prev.enemyY[j], curr.enemyY[i], alpha);
+			}
+		}
+	}
+
+	public void copyFrom(RenderSnapshot other) {
+		generation = other.generation;
+		xLvlOffset = other.xLvlOffset;
+		paused = other.paused;
+		gameOver = other.gameOver;
+		lvlCompleted = other.lvlCompleted;
+		playerX = other.playerX;
+		playerY = other.playerY;
+		playerAction = other.playerAction;
+		playerAniIndex = other.playerAniIndex;
+		healthWidth = other.healthWidth;
+		playerFlipped = other.playerFlipped;
+		ensureCapacity(other.enemyCount);
+		enemyCount = other.enemyCount;
+		enemySpawnCount = other.enemySpawnCount;
+		System.arraycopy(other.enemySpawn, 0, enemySpawn, 0, enemyCount);
+		System.arraycopy(other.enemyX, 0, enemyX, 0, enemyCount);
+		System.arraycopy(other.enemyY, 0, enemyY, 0, enemyCount);
+		System.arraycopy(other.enemyState, 0, enemyState, 0, enemyCount);
+		System.arraycopy(other.enemyAniIndex, 0, enemyAniIndex, 0, enemyCount);
+		System.arraycopy(other.enemyFlipped, 0, enemyFlipped, 0, enemyCount);
+	}
+
+	private void ensureCapacity(int count) {
+		if (enemyX.length >= count) {
+			return;
+		}
+		enemyX = new float[count];
+		enemyY = new float[count];
+		enemyState = new int[count];
+		enemyAniIndex = new int[count];
+		enemySpawn = new int[count];
+		enemyFlipped = new boolean[count];
+	}
+
+	private static float lerp(float from, float to, float alpha) {
+		return from + (to - from) * alpha;
+	}
+
+}
@@ -0,0 +1,70 @@
+package inputs;
+
+import java.util.Arrays;
+
+/*
+ * The input events applied at the start of one tick, kept as plain ints so they can be queued and logged without garbage.
+ */
+public class InputBatch {
+
+	public static final int KEY_PRESSED = 0;
+	public static final int KEY_RELEASED = 1;
+	public static final int MOUSE_PRESSED = 2;
+	public static final int MOUSE_RELEASED = 3;
+	public static final int MOUSE_CLICKED = 4;
+	public static final int MOUSE_MOVED = 5;
+	public static final int MOUSE_DRAGGED = 6;
+	public static final int FOCUS_LOST = 7;
+	public static final int TYPE_COUNT = 8;
+
+	private int[] types = new int[16];
+	private int[] codes = new int[16];
+	private int[] xs = new int[16];
+	private int[] ys = new int[16];
+	private int size;
+
+	public void add(int type, int code, int x, int y) {
+		if (size == types.length) {
+			grow();
+		}
+		types[size] = type;
+		codes[size] = code;
+		xs[size] = x;
+		ys[size] = y;
+		size++;
+	}
+
+	private void grow() {
+		int capacity = types.length * 2;
+		types = Arrays.copyOf(types, capacity);
+		codes = Arrays.copyOf(codes, capacity);
+		xs = Arrays.copyOf(xs, capacity);
+		ys = Arrays.copyOf(ys, capacity);
+	}
+
+	public void clear() {
+		size = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int getType(int i) {
+		return types[i];
+	}
+
+	// key code for key events, mouse button for mouse events
+	public int getCode(int i) {
+		return codes[i];
+	}
+
+	public int getX(int i) {
+		return xs[i];
+	}
+
+	public int getY(int i) {
+		return ys[i];
+	}
+
+}
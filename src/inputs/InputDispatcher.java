@@ -0,0 +1,135 @@
+package inputs;
+
+import java.awt.Component;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+
+import gameStates.Gamestate;
+import main.Game;
+
+/*
+ * Applies a tick's inputs to the current game state, on the game thread.
+ * Live and replayed inputs go through here alike, so both see exactly the same dispatch.
+ */
+public class InputDispatcher {
+
+	// events need a source, a bare lightweight component works without a display
+	private static final Component SOURCE = new Component() {
+	};
+
+	private Game game;
+
+	public InputDispatcher(Game game) {
+		this.game = game;
+	}
+
+	public void apply(InputBatch batch) {
+		for (int i = 0; i < batch.size(); i++) {
+			int type = batch.getType(i);
+			switch (type) {
+				case InputBatch.KEY_PRESSED:
+					if (batch.getCode(i) == KeyEvent.VK_F3) {
+						game.toggleTimingsOverlay();
+					} else {
+						dispatchKey(type, keyEvent(KeyEvent.KEY_PRESSED, batch.getCode(i)));
+					}
+					break;
+				case InputBatch.KEY_RELEASED:
+					dispatchKey(type, keyEvent(KeyEvent.KEY_RELEASED, batch.getCode(i)));
+					break;
+				case InputBatch.FOCUS_LOST:
+					if (Gamestate.state == Gamestate.PLAYING) {
+						game.getPlaying().getPlayer().resetDirBooleans();
+					}
+					break;
+				default:
+					dispatchMouse(type, new MouseEvent(SOURCE, toMouseId(type), 0L, 0, batch.getX(i), batch.getY(i), 1, false, batch.getCode(i)));
+					break;
+			}
+		}
+	}
+
+	private static KeyEvent keyEvent(int id, int code) {
+		return new KeyEvent(SOURCE, id, 0L, 0, code, KeyEvent.CHAR_UNDEFINED);
+	}
+
+	private int toMouseId(int type) {
+		switch (type) {
+			case InputBatch.MOUSE_PRESSED:
+				return MouseEvent.MOUSE_PRESSED;
+			case InputBatch.MOUSE_RELEASED:
+				return MouseEvent.MOUSE_RELEASED;
+			case InputBatch.MOUSE_CLICKED:
+				return MouseEvent.MOUSE_CLICKED;
+			case InputBatch.MOUSE_DRAGGED:
+				return MouseEvent.MOUSE_DRAGGED;
+			default:
+				return MouseEvent.MOUSE_MOVED;
+		}
+	}
+
+	private void dispatchKey(int type, KeyEvent e) {
+		switch (Gamestate.state) {
+			case MENU:
+				if (type == InputBatch.KEY_PRESSED) {
+					game.getMenu().keyPressed(e);
+				} else {
+					game.getMenu().keyReleased(e);
+				}
+				break;
+			case PLAYING:
+				if (type == InputBatch.KEY_PRESSED) {
+					game.getPlaying().keyPressed(e);
+				} else {
+					game.getPlaying().keyReleased(e);
+				}
+				break;
+			default:
+				break;
+		}
+	}
+
+	private void dispatchMouse(int type, MouseEvent e) {
+		switch (Gamestate.state) {
+			case MENU:
+				switch (type) {
+					case InputBatch.MOUSE_PRESSED:
+						game.getMenu().mousePressed(e);
+						break;
+					case InputBatch.MOUSE_RELEASED:
+						game.getMenu().mouseReleased(e);
+						break;
+					case InputBatch.MOUSE_MOVED:
+						game.getMenu().mouseMoved(e);
+						break;
+					default:
+						break;
+				}
+				break;
+			case PLAYING:
+				switch (type) {
+					case InputBatch.MOUSE_PRESSED:
+						game.getPlaying().mousePressed(e);
+						break;
+					case InputBatch.MOUSE_RELEASED:
+						game.getPlaying().mouseReleased(e);
+						break;
+					case InputBatch.MOUSE_CLICKED:
+						game.getPlaying().mouseClicked(e);
+						break;
+					case InputBatch.MOUSE_MOVED:
+						game.getPlaying().mouseMoved(e);
+						break;
+					case InputBatch.MOUSE_DRAGGED:
+						game.getPlaying().mouseDragged(e);
+						break;
+					default:
+						break;
+				}
+				break;
+			default:
+				break;
+		}
+	}
+
+}
@@ -0,0 +1,72 @@
+package inputs;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import utilz.Timings;
+
+/*
+ * Hands input events from the AWT thread to the game thread, which drains them at the start of a tick.
+ * Single producer, single consumer ring: each side only ever advances its own counter, so neither locks.
+ * Every event is stamped on arrival, draining measures how long it waited for the simulation.
+ */
+public class InputQueue {
+
+	private static final int CAPACITY = 256;
+	private static final int MASK = CAPACITY - 1;
+
+	private final int[] types = new int[CAPACITY];
+	private final int[] codes = new int[CAPACITY];
+	private final int[] xs = new int[CAPACITY];
+	private final int[] ys = new int[CAPACITY];
+	private final long[] stamps = new long[CAPACITY];
+
+	// tail is only written by the producer, head only by the consumer
+	private final AtomicLong tail = new AtomicLong();
+	private final AtomicLong head = new AtomicLong();
+	private long cachedHead;
+	private volatile int dropped;
+
+	// producer thread only
+	public void push(int type, int code, int x, int y) {
+		long t = tail.get();
+		if (t - cachedHead == CAPACITY) {
+			cachedHead = head.get();
+			if (t - cachedHead == CAPACITY) {
+				// the game thread has stalled, losing input is better than blocking the EDT
+				dropped++;
+				return;
+			}
+		}
+		int i = (int) t & MASK;
+		types[i] = type;
+		codes[i] = code;
+		xs[i] = x;
+		ys[i] = y;
+		stamps[i] = System.nanoTime();
+		// release: the slot is fully written before the consumer can see it
+		tail.lazySet(t + 1);
+	}
+
+	// consumer thread only, once per tick
+	public void drainTo(InputBatch batch) {
+		batch.clear();
+		long h = head.get();
+		long t = tail.get();
+		if (h == t) {
+			return;
+		}
+		long now = System.nanoTime();
+		for (; h != t; h++) {
+			int i = (int) h & MASK;
+			batch.add(types[i], codes[i], xs[i], ys[i]);
+			Timings.record(Timings.INPUT_LATENCY, now - stamps[i]);
+		}
+		head.lazySet(t);
+	}
+
+	// events thrown away because the ring was full, shown in the timings overlay
+	public int getDropped() {
+		return dropped;
+	}
+
+}
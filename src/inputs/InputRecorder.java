@@ -0,0 +1,122 @@
+package inputs;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/*
+ * Writes the inputs of every tick to a compact binary log that InputReplay can feed back.
+ * Format: MAGIC, VERSION, varint hash interval, then records of
+ * varint ticks since the previous record, a kind byte and the payload, ended by an END record.
+ * EVENTS payload is a varint count and per event a type byte, varint code and zigzag varint x and y deltas.
+ * HASH payload is the state hash after that many ticks, as a long.
+ */
+public class InputRecorder {
+
+	public static final int MAGIC = 0x50494E50;
+	public static final int VERSION = 1;
+	public static final int EVENTS = 0;
+	public static final int HASH = 1;
+	public static final int END = 2;
+
+	private DataOutputStream out;
+	private int hashInterval;
+	private int lastTick;
+	// ticks seen so far, quiet ones included, so the replay runs as long as the recording did
+	private int tickCount;
+	private int lastX, lastY;
+
+	public InputRecorder(File file, int hashInterval) throws IOException {
+		this.hashInterval = hashInterval;
+		out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+		writeVarInt(out, hashInterval);
+	}
+
+	public synchronized void recordInputs(int tick, InputBatch batch) {
+		tickCount = tick + 1;
+		if (out == null || batch.size() == 0) {
+			return;
+		}
+		try {
+			writeHeader(tick, EVENTS);
+			writeVarInt(out, batch.size());
+			for (int i = 0; i < batch.size(); i++) {
+				out.writeByte(batch.getType(i));
+				writeVarInt(out, batch.getCode(i));
+				writeVarInt(out, zigzag(batch.getX(i) - lastX));
+				writeVarInt(out, zigzag(batch.getY(i) - lastY));
+				lastX = batch.getX(i);
+				lastY = batch.getY(i);
+			}
+		} catch (IOException e) {
+			fail(e);
+		}
+	}
+
+	public synchronized void recordHash(int tick, long hash) {
+		if (out == null) {
+			return;
+		}
+		try {
+			writeHeader(tick, HASH);
+			out.writeLong(hash);
+			// keeps the file usable up to here if the process dies
+			out.flush();
+		} catch (IOException e) {
+			fail(e);
+		}
+	}
+
+	public synchronized void close() {
+		if (out == null) {
+			return;
+		}
+		try {
+			writeHeader(Math.max(lastTick, tickCount), END);
+			out.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		out = null;
+	}
+
+	private void writeHeader(int tick, int kind) throws IOException {
+		writeVarInt(out, tick - lastTick);
+		out.writeByte(kind);
+		lastTick = tick;
+	}
+
+	private void fail(IOException e) {
+		e.printStackTrace();
+		try {
+			out.close();
+		} catch (IOException ignored) {
+		}
+		out = null;
+	}
+
+	public int getHashInterval() {
+		return hashInterval;
+	}
+
+	static int zigzag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+
+	static int unzigzag(int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+}
@@ -0,0 +1,96 @@
+package inputs;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/*
+ * Reads a log written by InputRecorder back one tick at a time.
+ */
+public class InputReplay {
+
+	private DataInputStream in;
+	private int hashInterval;
+	private int nextTick;
+	private int nextKind;
+	private int lastX, lastY;
+
+	public InputReplay(InputStream stream) throws IOException {
+		in = new DataInputStream(new BufferedInputStream(stream));
+		if (in.readInt() != InputRecorder.MAGIC) {
+			throw new IOException("Not an input log");
+		}
+		int version = in.readUnsignedByte();
+		if (version != InputRecorder.VERSION) {
+			throw new IOException("Unsupported input log version " + version);
+		}
+		hashInterval = readVarInt();
+		readHeader();
+	}
+
+	private void readHeader() throws IOException {
+		try {
+			nextTick += readVarInt();
+			nextKind = in.readUnsignedByte();
+		} catch (EOFException e) {
+			// recording was cut off, the last complete record is where it ends
+			nextKind = InputRecorder.END;
+		}
+	}
+
+	// the state hash recorded after this many ticks, if the log has one there
+	public boolean hasHash(int tick) {
+		return nextKind == InputRecorder.HASH && nextTick == tick;
+	}
+
+	public long readHash() throws IOException {
+		long hash = in.readLong();
+		readHeader();
+		return hash;
+	}
+
+	public boolean isFinished(int tick) {
+		return nextKind == InputRecorder.END && nextTick <= tick;
+	}
+
+	public void readInputs(int tick, InputBatch batch) throws IOException {
+		batch.clear();
+		while (nextKind == InputRecorder.EVENTS && nextTick == tick) {
+			int count = readVarInt();
+			for (int i = 0; i < count; i++) {
+				int type = in.readUnsignedByte();
+				if (type >= InputBatch.TYPE_COUNT) {
+					throw new IOException("Bad event type " + type + " at tick " + tick);
+				}
+				int code = readVarInt();
+				lastX += InputRecorder.unzigzag(readVarInt());
+				lastY += InputRecorder.unzigzag(readVarInt());
+				batch.add(type, code, lastX, lastY);
+			}
+			readHeader();
+		}
+	}
+
+	public int getHashInterval() {
+		return hashInterval;
+	}
+
+	public void close() throws IOException {
+		in.close();
+	}
+
+	private int readVarInt() throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed varint");
+	}
+
+}
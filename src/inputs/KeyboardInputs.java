@@ -3,9 +3,7 @@ package inputs;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 
-import gameStates.Gamestate;
 import main.GamePanel;
-import static utilz.Constants.Directions.*;
 
 public class KeyboardInputs implements KeyListener {
 
@@ -20,35 +18,14 @@ public class KeyboardInputs implements KeyListener {
 
 	}
 
+	// only queued here, the game thread applies it at the next tick
 	@Override
 	public void keyReleased(KeyEvent e) {
-		switch (Gamestate.state) {
-			case MENU:
-				gamePanel.getGame().getMenu().keyReleased(e);
-				break;
-			case PLAYING:
-				gamePanel.getGame().getPlaying().keyReleased(e);
-				break;
-			default:
-				break;
-
-		}
-
+		gamePanel.getGame().getInputQueue().push(InputBatch.KEY_RELEASED, e.getKeyCode(), 0, 0);
 	}
 
 	@Override
 	public void keyPressed(KeyEvent e) {
-		switch (Gamestate.state) {
-			case MENU:
-				gamePanel.getGame().getMenu().keyPressed(e);
-				break;
-			case PLAYING:
-				gamePanel.getGame().getPlaying().keyPressed(e);
-				break;
-			default:
-				break;
-
-
-		}
+		gamePanel.getGame().getInputQueue().push(InputBatch.KEY_PRESSED, e.getKeyCode(), 0, 0);
 	}
 }
@@ -4,7 +4,6 @@ import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
 
-import gameStates.Gamestate;
 import main.GamePanel;
 
 public class MouseInputs implements MouseListener, MouseMotionListener {
@@ -15,69 +14,34 @@ public class MouseInputs implements MouseListener, MouseMotionListener {
 		this.gamePanel = gamePanel;
 	}
 
+	// only queued here, the game thread applies it at the next tick
+	private void push(int type, MouseEvent e) {
+		gamePanel.getGame().getInputQueue().push(type, e.getButton(), e.getX(), e.getY());
+	}
+
 	@Override
 	public void mouseDragged(MouseEvent e) {
-		switch (Gamestate.state) {
-			case PLAYING:
-				gamePanel.getGame().getPlaying().mouseDragged(e);
-				break;
-			default:
-				break;
-		}
+		push(InputBatch.MOUSE_DRAGGED, e);
 	}
 
 	@Override
 	public void mouseMoved(MouseEvent e) {
-		switch(Gamestate.state) {
-			case MENU:
-				gamePanel.getGame().getMenu().mouseMoved(e);
-				break;
-			case PLAYING:
-				gamePanel.getGame().getPlaying().mouseMoved(e);
-				break;
-			default:
-				break;
-		}
+		push(InputBatch.MOUSE_MOVED, e);
 	}
 
 	@Override
 	public void mouseClicked(MouseEvent e) {
-		switch(Gamestate.state) {
-			case PLAYING:
-				gamePanel.getGame().getPlaying().mouseClicked(e);
-				break;
-			default:
-				break;
-		}
-
+		push(InputBatch.MOUSE_CLICKED, e);
 	}
 
 	@Override
 	public void mousePressed(MouseEvent e) {
-		switch(Gamestate.state) {
-			case MENU:
-				gamePanel.getGame().getMenu().mousePressed(e);
-				break;
-			case PLAYING:
-				gamePanel.getGame().getPlaying().mousePressed(e);
-				break;
-			default:
-				break;
-		}
+		push(InputBatch.MOUSE_PRESSED, e);
 	}
 
 	@Override
 	public void mouseReleased(MouseEvent e) {
-		switch(Gamestate.state) {
-			case MENU:
-				gamePanel.getGame().getMenu().mouseReleased(e);
-				break;
-			case PLAYING:
-				gamePanel.getGame().getPlaying().mouseReleased(e);
-				break;
-			default:
-				break;
-		}
+		push(InputBatch.MOUSE_RELEASED, e);
 	}
 
 	@Override
@@ -0,0 +1,82 @@
+package levels;
+
+import java.util.ArrayList;
+
+import entities.Crabby;
+import main.Game;
+
+import static utilz.Constants.EnemyConstants.CRABBY;
+
+public class CompiledLevel {
+
+	private final int width, height;
+	private final byte[] tiles;
+	private final int spawnX, spawnY;
+	private final int[] enemyTypes, enemyTileX, enemyTileY;
+
+	public CompiledLevel(int width, int height, byte[] tiles, int spawnX, int spawnY, int[] enemyTypes, int[] enemyTileX, int[] enemyTileY) {
+		this.width = width;
+		this.height = height;
+		this.tiles = tiles;
+		this.spawnX = spawnX;
+		this.spawnY = spawnY;
+		this.enemyTypes = enemyTypes;
+		this.enemyTileX = enemyTileX;
+		this.enemyTileY = enemyTileY;
+	}
+
+	public TileGrid createTileGrid(Tileset tileset) {
+		TileGrid grid = new TileGrid(width, height, tileset);
+		for (int j = 0; j < height; j++)
+			for (int i = 0; i < width; i++)
+				grid.set(i, j, tiles[j * width + i]);
+		return grid;
+	}
+
+	public ArrayList<Crabby> createCrabs() {
+		ArrayList<Crabby> list = new ArrayList<>();
+		for (int i = 0; i < enemyTypes.length; i++) {
+			if (enemyTypes[i] == CRABBY) {
+				list.add(new Crabby(enemyTileX[i] * Game.TILES_SIZE, enemyTileY[i] * Game.TILES_SIZE));
+			}
+		}
+		return list;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public byte[] getTiles() {
+		return tiles;
+	}
+
+	public int getSpawnX() {
+		return spawnX;
+	}
+
+	public int getSpawnY() {
+		return spawnY;
+	}
+
+	public int getEnemyCount() {
+		return enemyTypes.length;
+	}
+
+	public int getEnemyType(int i) {
+		return enemyTypes[i];
+	}
+
+	public int getEnemyTileX(int i) {
+		return enemyTileX[i];
+	}
+
+	public int getEnemyTileY(int i) {
+		return enemyTileY[i];
+	}
+
+}
@@ -2,56 +2,70 @@ package levels;
 
 import entities.Crabby;
 import main.Game;
-import utilz.HelpMethods;
 
-import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import static utilz.HelpMethods.getLevelData;
-import static utilz.HelpMethods.getCrabs;
 
 public class Level {
 
-	private BufferedImage img;
-	private int[][] lvlData;
+	private CompiledLevel compiled;
+	private TileGrid lvlData;
 	private ArrayList<Crabby> crabs;
+	private TileChunkCache tileCache;
 
 	private int lvlTilesWide;
 	private int maxTilesOffset;
 	private int maxLvlOffsetX;
 
-	public Level(BufferedImage img) {
-		this.img = img;
+	public Level(CompiledLevel compiled) {
+		this.compiled = compiled;
 		createLevelData();
 		createEnemies();
 		calcLvlOffsets();
 	}
 
 	private void calcLvlOffsets() {
-		lvlTilesWide = img.getWidth();
+		lvlTilesWide = compiled.getWidth();
 		maxTilesOffset = lvlTilesWide - Game.TILES_IN_WIDTH;
 		maxLvlOffsetX = Game.TILES_SIZE;
 	}
 
 	private void createEnemies() {
-		crabs = HelpMethods.getCrabs(img);
+		crabs = compiled.createCrabs();
 	}
 
 	private void createLevelData() {
-		lvlData = getLevelData();
+		lvlData = compiled.createTileGrid(Tileset.getOutside());
+		lvlData.refreshWalkableSpans();
 	}
 
 	public int getSpriteIndex(int x, int y) {
-		return lvlData[y][x];
+		return lvlData.get(x, y);
 	}
 
-	public int[][] getLevelData() {
+	public TileGrid getLevelData() {
 		return lvlData;
 	}
 
+	public int getPlayerSpawnX() {
+		return compiled.getSpawnX();
+	}
+
+	public int getPlayerSpawnY() {
+		return compiled.getSpawnY();
+	}
+
 	public int getLvlOffset() {
 		return maxLvlOffsetX;
 	}
 
+	public TileChunkCache getTileCache() {
+		return tileCache;
+	}
+
+	public void setTileCache(TileChunkCache tileCache) {
+		this.tileCache = tileCache;
+	}
+
 	public ArrayList<Crabby> getCrabs() {
 		return crabs;
 	}
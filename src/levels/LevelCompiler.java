@@ -0,0 +1,223 @@
+package levels;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.zip.CRC32;
+
+import javax.imageio.ImageIO;
+
+import main.Game;
+import utilz.LoadSave;
+import utilz.Log;
+
+import static utilz.Constants.EnemyConstants.CRABBY;
+
+/*
+ * Turns the level pngs into a small binary file so startup doesn't have to decode images.
+ *
+ * Layout: magic, version, source crc, width, height, spawn x/y, enemy count,
+ * (type, tile x, tile y) per enemy, width * height tile bytes, crc of everything before it.
+ */
+public class LevelCompiler {
+
+	public static final String EXTENSION = ".lvl";
+	private static final int MAGIC = 0x504C564C; // "PLVL"
+	private static final int VERSION = 1;
+	private static final int PLAYER_SPAWN_GREEN = 100;
+
+	// a single pass over the pixels picks up tiles, enemies and the spawn point
+	public static CompiledLevel compile(BufferedImage img) {
+		int width = img.getWidth();
+		int height = img.getHeight();
+		int[] pixels = img.getRGB(0, 0, width, height, null, 0, width);
+		byte[] tiles = new byte[width * height];
+		int[] types = new int[pixels.length];
+		int[] tileX = new int[pixels.length];
+		int[] tileY = new int[pixels.length];
+		int enemies = 0;
+		int spawnX = Game.TILES_SIZE, spawnY = Game.TILES_SIZE;
+		boolean spawnFound = false;
+
+		for (int j = 0; j < height; j++)
+			for (int i = 0; i < width; i++) {
+				int rgb = pixels[j * width + i];
+				int red = (rgb >> 16) & 0xFF;
+				int green = (rgb >> 8) & 0xFF;
+				tiles[j * width + i] = (byte) (red >= Tileset.TILE_COUNT ? 0 : red);
+				if (green == CRABBY) {
+					types[enemies] = CRABBY;
+					tileX[enemies] = i;
+					tileY[enemies] = j;
+					enemies++;
+				} else if (green == PLAYER_SPAWN_GREEN && !spawnFound) {
+					spawnX = i * Game.TILES_SIZE;
+					spawnY = j * Game.TILES_SIZE;
+					spawnFound = true;
+				}
+			}
+		return new CompiledLevel(width, height, tiles, spawnX, spawnY, trim(types, enemies), trim(tileX, enemies), trim(tileY, enemies));
+	}
+
+	// binary cache when it is valid for the png, otherwise decode the png and refresh the cache
+	public static CompiledLevel load(String levelName) throws IOException {
+		byte[] source = LoadSave.readBytes(LoadSave.LEVELS_FOLDER + "/" + levelName);
+		long sourceCrc = crc(source);
+		String baseName = levelName.substring(0, levelName.lastIndexOf('.'));
+
+		CompiledLevel level = readBundled(baseName + EXTENSION, sourceCrc);
+		if (level != null) {
+			return level;
+		}
+		File cacheFile = new File(LoadSave.getLevelCacheDir(), baseName + EXTENSION);
+		level = readCached(cacheFile, sourceCrc);
+		if (level != null) {
+			return level;
+		}
+
+		level = compile(ImageIO.read(new ByteArrayInputStream(source)));
+		try {
+			write(level, sourceCrc, cacheFile);
+		} catch (IOException e) {
+			// the cache is only an optimisation
+			Log.warn(() -> "Could not cache " + cacheFile, e);
+		}
+		return level;
+	}
+
+	private static CompiledLevel readBundled(String fileName, long sourceCrc) {
+		InputStream is = LevelCompiler.class.getResourceAsStream("/" + LoadSave.LEVELS_FOLDER + "/" + fileName);
+		if (is == null) {
+			return null;
+		}
+		try (InputStream in = is) {
+			return read(in, sourceCrc);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private static CompiledLevel readCached(File file, long sourceCrc) {
+		if (!file.isFile()) {
+			return null;
+		}
+		try (InputStream in = new FileInputStream(file)) {
+			return read(in, sourceCrc);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	// null when the data is stale, from another version or corrupt
+	public static CompiledLevel read(InputStream is, long sourceCrc) throws IOException {
+		byte[] data = is.readAllBytes();
+		if (data.length < 4) {
+			return null;
+		}
+		CRC32 crc = new CRC32();
+		crc.update(data, 0, data.length - 4);
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new ByteArrayInputStream(data)));
+		if (in.readInt() != MAGIC || in.readShort() != VERSION || in.readLong() != sourceCrc) {
+			return null;
+		}
+		int width = in.readUnsignedShort();
+		int height = in.readUnsignedShort();
+		int spawnX = in.readInt();
+		int spawnY = in.readInt();
+		int enemies = in.readInt();
+		int[] types = new int[enemies];
+		int[] tileX = new int[enemies];
+		int[] tileY = new int[enemies];
+		for (int i = 0; i < enemies; i++) {
+			types[i] = in.readUnsignedByte();
+			tileX[i] = in.readUnsignedShort();
+			tileY[i] = in.readUnsignedShort();
+		}
+		byte[] tiles = new byte[width * height];
+		in.readFully(tiles);
+		if ((int) crc.getValue() != in.readInt()) {
+			return null;
+		}
+		return new CompiledLevel(width, height, tiles, spawnX, spawnY, types, tileX, tileY);
+	}
+
+	public static void write(CompiledLevel level, long sourceCrc, File file) throws IOException {
+		File dir = file.getParentFile();
+		if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+			throw new IOException("Can't create " + dir);
+		}
+		// written next to the target and renamed, so a crash never leaves half a file behind
+		File tmp = new File(file.getPath() + ".tmp");
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tmp))) {
+			write(level, sourceCrc, out);
+		}
+		Files.move(tmp.toPath(), file.toPath(), java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	public static void write(CompiledLevel level, long sourceCrc, OutputStream os) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(MAGIC);
+		out.writeShort(VERSION);
+		out.writeLong(sourceCrc);
+		out.writeShort(level.getWidth());
+		out.writeShort(level.getHeight());
+		out.writeInt(level.getSpawnX());
+		out.writeInt(level.getSpawnY());
+		out.writeInt(level.getEnemyCount());
+		for (int i = 0; i < level.getEnemyCount(); i++) {
+			out.writeByte(level.getEnemyType(i));
+			out.writeShort(level.getEnemyTileX(i));
+			out.writeShort(level.getEnemyTileY(i));
+		}
+		out.write(level.getTiles());
+		out.flush();
+		CRC32 crc = new CRC32();
+		crc.update(bytes.toByteArray());
+		out.writeInt((int) crc.getValue());
+		out.flush();
+		bytes.writeTo(os);
+	}
+
+	private static long crc(byte[] data) {
+		CRC32 crc = new CRC32();
+		crc.update(data);
+		return crc.getValue();
+	}
+
+	private static int[] trim(int[] arr, int length) {
+		int[] trimmed = new int[length];
+		System.arraycopy(arr, 0, trimmed, 0, length);
+		return trimmed;
+	}
+
+	// build step: java levels.LevelCompiler res/lvls [outDir] writes a .lvl next to every png
+	public static void main(String[] args) throws IOException {
+		File srcDir = new File(args.length > 0 ? args[0] : "res/" + LoadSave.LEVELS_FOLDER);
+		File outDir = args.length > 1 ? new File(args[1]) : srcDir;
+		File[] pngs = srcDir.listFiles((dir, name) -> name.endsWith(".png"));
+		if (pngs == null) {
+			throw new IOException("No level folder at " + srcDir);
+		}
+		for (File png : pngs) {
+			byte[] source = Files.readAllBytes(png.toPath());
+			CompiledLevel level = compile(ImageIO.read(new ByteArrayInputStream(source)));
+			String baseName = png.getName().substring(0, png.getName().lastIndexOf('.'));
+			File out = new File(outDir, baseName + EXTENSION);
+			write(level, crc(source), out);
+			System.out.println(png.getName() + " -> " + out + " (" + level.getEnemyCount() + " enemies)");
+		}
+	}
+
+}
@@ -4,64 +4,122 @@ import java.awt.Graphics;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.nio.Buffer;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import entities.EnemyManager;
 import gameStates.Gamestate;
 import main.Game;
+import utilz.AtlasRegistry;
 import utilz.LoadSave;
+import utilz.Log;
+import utilz.Viewport;
 
 public class LevelManager {
 
+	private static final int MAX_CACHED_LEVELS = 3;
+
 	private Game game;
 	private BufferedImage[] levelSprite;
-	private ArrayList<Level> levels;
+	private String[] levelNames;
 	private int lvlIndex = 0;
+	private Level currentLevel;
+	private TileChunkCache tileCache;
+
+	// decoded levels, least recently used first; only touched from the game thread
+	private LinkedHashMap<Integer, Level> levelCache = new LinkedHashMap<>(MAX_CACHED_LEVELS * 2, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, Level> eldest) {
+			if (size() > MAX_CACHED_LEVELS) {
+				eldest.getValue().getTileCache().flush();
+				return true;
+			}
+			return false;
+		}
+	};
+	private HashMap<Integer, Future<Level>> prefetches = new HashMap<>();
 
 	public LevelManager(Game game) throws URISyntaxException, IOException {
 		this.game = game;
+		levelNames = LoadSave.getLevelNames();
+		// the first level decodes on a loader thread while the tile atlas is sliced
+		Future<CompiledLevel> firstLevel = LoadSave.submit(() -> LevelCompiler.load(levelNames[lvlIndex]));
 		importOutsideSprites();
-		levels = new ArrayList<>();
-		buildAllLevels();
+		setCurrentLevel(buildLevel(waitFor(firstLevel, lvlIndex)));
+	}
+
+	private void setCurrentLevel(Level level) {
+		Log.debug(() -> "Level " + levelNames[lvlIndex] + " started");
+		Log.trace(() -> "Tiles of " + levelNames[lvlIndex] + ": " + level.getLevelData());
+		currentLevel = level;
+		tileCache = level.getTileCache();
+		levelCache.put(lvlIndex, level);
+		prefetch((lvlIndex + 1) % levelNames.length);
+	}
+
+	// decodes the level in the background while the current one is played
+	private void prefetch(int index) {
+		if (levelCache.containsKey(index) || prefetches.containsKey(index)) {
+			return;
+		}
+		prefetches.put(index, LoadSave.submit(() -> buildLevel(LevelCompiler.load(levelNames[index]))));
+	}
+
+	private Level buildLevel(CompiledLevel compiled) {
+		Level level = new Level(compiled);
+		level.setTileCache(new TileChunkCache(level, levelSprite));
+		return level;
+	}
+
+	private <T> T waitFor(Future<T> future, int index) {
+		try {
+			return future.get();
+		} catch (InterruptedException | ExecutionException e) {
+			throw new IllegalStateException("Could not load level " + levelNames[index], e);
+		}
+	}
+
+	private Level obtainLevel(int index) {
+		Level level = levelCache.get(index);
+		if (level != null) {
+			return level;
+		}
+		Future<Level> prefetch = prefetches.remove(index);
+		if (prefetch == null) {
+			prefetch = LoadSave.submit(() -> buildLevel(LevelCompiler.load(levelNames[index])));
+		}
+		// normally long done by now, this only waits if the level was finished very quickly
+		return waitFor(prefetch, index);
 	}
 
 	public void loadNextLevel() {
 		lvlIndex++;
-		if (lvlIndex >= levels.size()) {
+		if (lvlIndex >= levelNames.length) {
 			lvlIndex = 0;
 			Gamestate.state = Gamestate.MENU;
 		}
-		Level newLevel = levels.get(lvlIndex);
+		Level newLevel = obtainLevel(lvlIndex);
+		setCurrentLevel(newLevel);
 		game.getPlaying().getEnemyManager().loadEnemies(newLevel);
 		game.getPlaying().getPlayer().loadLvlData(newLevel.getLevelData());
 		game.getPlaying().setMaxLvlOffset(newLevel.getLvlOffset());
 	}
 
-	private void buildAllLevels() throws URISyntaxException, IOException {
-		BufferedImage[] allLevels = LoadSave.getAllLevels();
-		for (BufferedImage img : allLevels) {
-			levels.add(new Level(img));
-		}
-	}
-
 	private void importOutsideSprites() {
-		BufferedImage img = LoadSave.getSpriteAtlas(LoadSave.LEVEL_ATLAS);
+		AtlasRegistry.Atlas atlas = AtlasRegistry.acquire(LoadSave.LEVEL_ATLAS, 32, 32);
 		levelSprite = new BufferedImage[48];
 		for (int j = 0; j < 4; j++)
 			for (int i = 0; i < 12; i++) {
 				int index = j * 12 + i;
-				levelSprite[index] = img.getSubimage(i * 32, j * 32, 32, 32);
+				levelSprite[index] = atlas.getSprite(i, j);
 			}
 	}
 
-	public void draw(Graphics g, int lvlOffset) {
-		for (int j = 0; j < Game.TILES_IN_HEIGHT; j++)
-			for (int i = 0; i < levels.get(lvlIndex).getLevelData()[0].length; i++) {
-				int index = levels.get(lvlIndex).getSpriteIndex(i, j);
-				g.drawImage(levelSprite[index], Game.TILES_SIZE * i - lvlOffset, Game.TILES_SIZE * j, Game.TILES_SIZE, Game.TILES_SIZE, null);
-			}
+	public void draw(Graphics g, Viewport viewport) {
+		tileCache.draw(g, viewport);
 	}
 
 	public void update() {
@@ -69,13 +127,11 @@ public class LevelManager {
 	}
 
 	public Level getCurrentLevel() {
-		System.out.println("Is there a level? " + levels.get(lvlIndex));
-		System.out.println(Arrays.deepToString(levels.get(lvlIndex).getLevelData()));
-		return levels.get(lvlIndex);
+		return currentLevel;
 	}
 
 	public int getAmountOfLevels() {
-		return levels.size();
+		return levelNames.length;
 	}
 
 
@@ -0,0 +1,61 @@
+package levels;
+
+import java.awt.Graphics2D;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+
+import main.Game;
+import utilz.LoadSave;
+import utilz.Viewport;
+
+public class TileChunkCache {
+
+	public static final int CHUNK_TILES = 16;
+	public static final int CHUNK_WIDTH = CHUNK_TILES * Game.TILES_SIZE;
+
+	private BufferedImage[] chunks;
+
+	public TileChunkCache(Level level, BufferedImage[] levelSprite) {
+		buildChunks(level, levelSprite);
+	}
+
+	// pre renders the static tiles at screen scale so a frame costs one blit per visible chunk
+	private void buildChunks(Level level, BufferedImage[] levelSprite) {
+		TileGrid lvlData = level.getLevelData();
+		int tilesWide = lvlData.getWidth();
+		int tilesHigh = lvlData.getHeight();
+		chunks = new BufferedImage[(tilesWide + CHUNK_TILES - 1) / CHUNK_TILES];
+
+		for (int c = 0; c < chunks.length; c++) {
+			int firstTile = c * CHUNK_TILES;
+			int lastTile = Math.min(firstTile + CHUNK_TILES, tilesWide);
+			BufferedImage chunk = LoadSave.createCompatibleImage((lastTile - firstTile) * Game.TILES_SIZE, tilesHigh * Game.TILES_SIZE);
+			Graphics2D g = chunk.createGraphics();
+			for (int j = 0; j < tilesHigh; j++)
+				for (int i = firstTile; i < lastTile; i++) {
+					int index = level.getSpriteIndex(i, j);
+					g.drawImage(levelSprite[index], Game.TILES_SIZE * (i - firstTile), Game.TILES_SIZE * j, Game.TILES_SIZE, Game.TILES_SIZE, null);
+				}
+			g.dispose();
+			chunks[c] = chunk;
+		}
+	}
+
+	public void draw(Graphics g, Viewport viewport) {
+		int lvlOffset = viewport.getXLvlOffset();
+		int first = viewport.getFirstColumn(CHUNK_WIDTH);
+		int last = viewport.getLastColumn(CHUNK_WIDTH, chunks.length);
+		for (int c = first; c <= last; c++) {
+			g.drawImage(chunks[c], c * CHUNK_WIDTH - lvlOffset, 0, null);
+		}
+		viewport.countDrawn(last - first + 1);
+		viewport.countCulled(chunks.length - (last - first + 1));
+	}
+
+	public void flush() {
+		for (BufferedImage chunk : chunks) {
+			chunk.flush();
+		}
+	}
+
+}
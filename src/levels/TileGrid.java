@@ -0,0 +1,185 @@
+package levels;
+
+import static utilz.Constants.TileTypes.*;
+
+public class TileGrid {
+
+	private final int width, height;
+	private final Tileset tileset;
+	private final byte[] tiles;
+	private final long[] solid;
+	private final long[] oneWay;
+
+	// per row, runs of open tiles over something standable; 0 for a tile nothing can walk on
+	private final int[] spanIds;
+	private final boolean[] dirtyRows;
+	private volatile int dirtyCount;
+
+	public TileGrid(int width, int height, Tileset tileset) {
+		this.width = width;
+		this.height = height;
+		this.tileset = tileset;
+		tiles = new byte[width * height];
+		solid = new long[(tiles.length + 63) >>> 6];
+		oneWay = new long[solid.length];
+		spanIds = new int[tiles.length];
+		dirtyRows = new boolean[height];
+		// a fresh grid is all tile 0, so the bits have to match that
+		for (int i = 0; i < tiles.length; i++) {
+			updateBits(i, 0);
+		}
+		for (int j = 0; j < height; j++) {
+			markDirty(j);
+		}
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public boolean isInBounds(int x, int y) {
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	public int get(int x, int y) {
+		checkBounds(x, y);
+		return tiles[y * width + x];
+	}
+
+	public void set(int x, int y, int value) {
+		checkBounds(x, y);
+		int i = y * width + x;
+		tiles[i] = (byte) value;
+		updateBits(i, value);
+		// the tile is the floor of the row above as well
+		markDirty(y);
+		if (y > 0) {
+			markDirty(y - 1);
+		}
+	}
+
+	// only called between ticks on the update thread, the volatile write publishes the flag to the readers
+	private void markDirty(int y) {
+		if (!dirtyRows[y]) {
+			dirtyRows[y] = true;
+			dirtyCount++;
+		}
+	}
+
+	private void updateBits(int i, int value) {
+		int type = tileset.getCollisionType(value);
+		setBit(solid, i, isSolidType(type));
+		setBit(oneWay, i, type == ONE_WAY);
+	}
+
+	private static void setBit(long[] bits, int i, boolean on) {
+		if (on) {
+			bits[i >>> 6] |= 1L << i;
+		} else {
+			bits[i >>> 6] &= ~(1L << i);
+		}
+	}
+
+	// anything outside the grid counts as solid
+	public boolean isSolid(int x, int y) {
+		if (!isInBounds(x, y)) {
+			return true;
+		}
+		int i = y * width + x;
+		return (solid[i >>> 6] & (1L << i)) != 0;
+	}
+
+	// platforms that only block from above
+	public boolean isOneWay(int x, int y) {
+		if (!isInBounds(x, y)) {
+			return false;
+		}
+		int i = y * width + x;
+		return (oneWay[i >>> 6] & (1L << i)) != 0;
+	}
+
+	public boolean isStandable(int x, int y) {
+		return isSolid(x, y) || isOneWay(x, y);
+	}
+
+	/*
+	 * True when every tile from xStart up to xEnd - 1 on row y is open with something standable below it,
+	 * the same tiles HelpMethods.isAllTilesWalkable used to walk one by one. Both ends in one span is enough.
+	 */
+	public boolean isWalkableRun(int xStart, int xEnd, int y) {
+		if (xEnd <= xStart) {
+			return true;
+		}
+		if (xStart < 0 || xEnd > width || y < 0 || y >= height) {
+			return false;
+		}
+		if (dirtyCount != 0) {
+			refreshWalkableSpans();
+		}
+		int span = spanIds[y * width + xStart];
+		return span != 0 && span == spanIds[y * width + xEnd - 1];
+	}
+
+	// rebuilds the rows whose tiles changed; Level calls it up front so the loader thread pays for the first build
+	public synchronized void refreshWalkableSpans() {
+		if (dirtyCount == 0) {
+			return;
+		}
+		for (int j = 0; j < height; j++) {
+			if (dirtyRows[j]) {
+				buildRow(j);
+				dirtyRows[j] = false;
+			}
+		}
+		dirtyCount = 0;
+	}
+
+	private void buildRow(int y) {
+		int span = 0;
+		for (int x = 0; x < width; x++) {
+			int i = y * width + x;
+			if (isSolid(x, y) || !isStandable(x, y + 1)) {
+				span = 0;
+			} else if (span == 0) {
+				span = x + 1;
+			}
+			spanIds[i] = span;
+		}
+	}
+
+	public int getCollisionType(int x, int y) {
+		return tileset.getCollisionType(get(x, y));
+	}
+
+	public Tileset getTileset() {
+		return tileset;
+	}
+
+	private void checkBounds(int x, int y) {
+		if (!isInBounds(x, y)) {
+			throw new IndexOutOfBoundsException("Tile " + x + "," + y + " outside " + width + "x" + height);
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(tiles.length * 4);
+		sb.append('[');
+		for (int j = 0; j < height; j++) {
+			sb.append(j == 0 ? "[" : ", [");
+			for (int i = 0; i < width; i++) {
+				if (i > 0) {
+					sb.append(", ");
+				}
+				sb.append(tiles[j * width + i]);
+			}
+			sb.append(']');
+		}
+		return sb.append(']').toString();
+	}
+
+}
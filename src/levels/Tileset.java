@@ -0,0 +1,70 @@
+package levels;
+
+import static utilz.Constants.TileTypes.*;
+
+import java.util.List;
+
+import utilz.LoadSave;
+
+public class Tileset {
+
+	public static final int TILE_COUNT = 48;
+
+	private static Tileset outside;
+
+	private final byte[] collisionTypes = new byte[TILE_COUNT];
+
+	// the collision table is data, so passable or one way tiles can be added without touching code
+	public Tileset(String collisionFile) {
+		for (int i = 0; i < collisionTypes.length; i++) {
+			collisionTypes[i] = SOLID;
+		}
+		List<String> lines = LoadSave.readLines(collisionFile);
+		for (String line : lines) {
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			int split = line.indexOf('=');
+			if (split < 0) {
+				throw new IllegalArgumentException("Bad collision entry in " + collisionFile + ": " + line);
+			}
+			int index = Integer.parseInt(line.substring(0, split).trim());
+			collisionTypes[index] = parseType(line.substring(split + 1).trim());
+		}
+	}
+
+	public static synchronized Tileset getOutside() {
+		if (outside == null) {
+			outside = new Tileset(LoadSave.TILE_COLLISION);
+		}
+		return outside;
+	}
+
+	private static byte parseType(String name) {
+		switch (name) {
+			case "AIR":
+				return AIR;
+			case "SOLID":
+				return SOLID;
+			case "ONE_WAY":
+				return ONE_WAY;
+			case "SLOPE_UP":
+				return SLOPE_UP;
+			case "SLOPE_DOWN":
+				return SLOPE_DOWN;
+			case "DECORATION":
+				return DECORATION;
+			default:
+				throw new IllegalArgumentException("Unknown tile collision type " + name);
+		}
+	}
+
+	public int getCollisionType(int tileIndex) {
+		if (tileIndex < 0 || tileIndex >= TILE_COUNT) {
+			return SOLID;
+		}
+		return collisionTypes[tileIndex];
+	}
+
+}
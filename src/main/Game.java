@@ -1,24 +1,48 @@
 package main;
 
 import java.awt.Graphics;
+import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.concurrent.locks.LockSupport;
 
 import gameStates.Gamestate;
 import gameStates.Menu;
 import gameStates.Playing;
+import inputs.InputBatch;
+import inputs.InputDispatcher;
+import inputs.InputQueue;
+import inputs.InputRecorder;
+import ui.TimingsOverlay;
+import utilz.LoadSave;
+import utilz.Timings;
 
 public class Game implements Runnable {
 
 	private GameWindow gameWindow;
 	private GamePanel gamePanel;
 	private Thread gameThread;
+	private Thread renderThread;
 	private final int FPS_SET = 120;
 	private final int UPS_SET = 200;
+	private final int MAX_CATCH_UP_UPDATES = 5;
+	private final long SPIN_THRESHOLD = 500000;
 
 	// GameStates
 	private Playing playing;
 	private Menu menu;
+	private volatile float interpolation = 1f;
+	private volatile long lastTickTime = System.nanoTime();
+
+	// inputs are queued by the AWT thread and applied at the start of a tick
+	private InputQueue inputQueue = new InputQueue();
+	private InputBatch tickInputs = new InputBatch();
+	private InputDispatcher inputDispatcher;
+	private InputRecorder inputRecorder;
+	private int ticks;
+
+	private TimingsOverlay timingsOverlay = new TimingsOverlay();
+	private volatile boolean showTimings;
 
 
 	// Tiles/GameWindow
@@ -30,8 +54,28 @@ public class Game implements Runnable {
 	public final static int GAME_WIDTH = TILES_SIZE * TILES_IN_WIDTH;
 	public final static int GAME_HEIGHT = TILES_SIZE * TILES_IN_HEIGHT;
 
+	// -Dplatformer.pipelined=true updates and renders on two threads, handing frames over through a triple buffer
+	public final static boolean PIPELINED = Boolean.getBoolean("platformer.pipelined");
+	// -Dplatformer.activeRendering=true draws from the game loop into a BufferStrategy instead of repaint();
+	// pipelining implies it, with repaint() the render thread would only post paints and the EDT would still draw
+	public final static boolean ACTIVE_RENDERING = PIPELINED || Boolean.getBoolean("platformer.activeRendering");
+	public final static int UPDATE_PRIORITY = Integer.getInteger("platformer.updatePriority", Thread.NORM_PRIORITY);
+	public final static int RENDER_PRIORITY = Integer.getInteger("platformer.renderPriority", Thread.NORM_PRIORITY);
+	// -Dplatformer.record=file logs every tick's input for ReplayRunner, with a state hash every HASH_INTERVAL ticks
+	public final static String RECORD_FILE = System.getProperty("platformer.record");
+	public final static int HASH_INTERVAL = Integer.getInteger("platformer.hashInterval", 60);
+
 	public Game() throws URISyntaxException, IOException {
+		this(false);
+	}
+
+	// headless builds only the states, the caller drives update() itself
+	public Game(boolean headless) throws URISyntaxException, IOException {
 		initClasses();
+		initRecorder();
+		if (headless) {
+			return;
+		}
 
 		gamePanel = new GamePanel(this);
 		gameWindow = new GameWindow(gamePanel);
@@ -42,16 +86,48 @@ public class Game implements Runnable {
 	}
 
 	private void initClasses() throws URISyntaxException, IOException {
+		LoadSave.preloadAtlases(LoadSave.ALL_ATLASES);
 		menu = new Menu(this);
 		playing = new Playing(this);
+		inputDispatcher = new InputDispatcher(this);
+	}
+
+	private void initRecorder() throws IOException {
+		if (RECORD_FILE == null) {
+			return;
+		}
+		inputRecorder = new InputRecorder(new File(RECORD_FILE), HASH_INTERVAL);
+		Runtime.getRuntime().addShutdownHook(new Thread(inputRecorder::close, "input-recorder"));
 	}
 
 	private void startGameLoop() {
-		gameThread = new Thread(this);
-		gameThread.start();
+		if (PIPELINED) {
+			gameThread = new Thread(() -> runLoop(true, false), "update");
+			renderThread = new Thread(() -> runLoop(false, true), "render");
+			gameThread.setPriority(UPDATE_PRIORITY);
+			renderThread.setPriority(RENDER_PRIORITY);
+			gameThread.start();
+			renderThread.start();
+		} else {
+			gameThread = new Thread(this);
+			gameThread.setPriority(UPDATE_PRIORITY);
+			gameThread.start();
+		}
 	}
 
 	public void update() {
+		inputQueue.drainTo(tickInputs);
+		update(tickInputs);
+	}
+
+	// one tick with the given inputs, replays call this directly
+	public void update(InputBatch inputs) {
+		long start = System.nanoTime();
+		if (inputRecorder != null) {
+			inputRecorder.recordInputs(ticks, inputs);
+		}
+		inputDispatcher.apply(inputs);
+
 		switch (Gamestate.state) {
 			case MENU:
 				menu.update();
@@ -65,73 +141,151 @@ public class Game implements Runnable {
 			default:
 				break;
 		}
+
+		ticks++;
+		if (inputRecorder != null && ticks % HASH_INTERVAL == 0) {
+			inputRecorder.recordHash(ticks, computeStateHash());
+		}
+		Timings.record(Timings.TICK, System.nanoTime() - start);
+	}
+
+	public long computeStateHash() {
+		long h = 0xcbf29ce484222325L;
+		h = (h ^ Gamestate.state.ordinal()) * 0x100000001b3L;
+		return playing.computeStateHash(h);
 	}
 
 	public void render(Graphics g) {
+		long start = System.nanoTime();
 		switch (Gamestate.state) {
 			case MENU:
 				menu.draw(g);
 				break;
 			case PLAYING:
+				playing.setRenderAlpha(interpolation);
 				playing.draw(g);
 				break;
 			default:
 				break;
 		}
+		Timings.record(Timings.FRAME, System.nanoTime() - start);
 
+		if (showTimings) {
+			timingsOverlay.draw(g, this);
+		}
+	}
+
+	public void toggleTimingsOverlay() {
+		showTimings = !showTimings;
+		if (showTimings) {
+			// fresh numbers every time it is opened
+			Timings.reset();
+		}
 	}
 
 	@Override
 	public void run() {
+		runLoop(true, true);
+	}
 
-		double timePerFrame = 1000000000.0 / FPS_SET;
-		double timePerUpdate = 1000000000.0 / UPS_SET;
+	// one loop for both modes, pipelined each thread runs it with only its own half enabled
+	private void runLoop(boolean doUpdates, boolean doRenders) {
 
-		long previousTime = System.nanoTime();
+		long timePerFrame = 1000000000L / FPS_SET;
+		long timePerUpdate = 1000000000L / UPS_SET;
+
+		long nextUpdate = System.nanoTime();
+		long nextFrame = nextUpdate;
 
 		int frames = 0;
 		int updates = 0;
 		long lastCheck = System.currentTimeMillis();
 
-		double deltaU = 0;
-		double deltaF = 0;
-
 		while (true) {
 			long currentTime = System.nanoTime();
 
-			deltaU += (currentTime - previousTime) / timePerUpdate;
-			deltaF += (currentTime - previousTime) / timePerFrame;
-			previousTime = currentTime;
-
-			if (deltaU >= 1) {
-				update();
-				updates++;
-				deltaU--;
+			// fixed step updates, catching up when behind but never more than MAX_CATCH_UP_UPDATES at once
+			if (doUpdates) {
+				int catchUp = 0;
+				while (currentTime - nextUpdate >= 0 && catchUp < MAX_CATCH_UP_UPDATES) {
+					update();
+					lastTickTime = nextUpdate;
+					updates++;
+					catchUp++;
+					nextUpdate += timePerUpdate;
+					currentTime = System.nanoTime();
+				}
+				if (currentTime - nextUpdate >= 0) {
+					// too far behind, drop the backlog instead of spiralling
+					nextUpdate = currentTime + timePerUpdate;
+					lastTickTime = currentTime;
+				}
 			}
 
-			if (deltaF >= 1) {
-				gamePanel.repaint();
+			if (doRenders && currentTime - nextFrame >= 0) {
+				// how far we are into the next tick, the renderer blends the last two by this much
+				interpolation = Math.max(0f, Math.min(1f, (currentTime - lastTickTime) / (float) timePerUpdate));
+				gamePanel.renderFrame();
 				frames++;
-				deltaF--;
+				nextFrame += timePerFrame;
+				if (currentTime - nextFrame >= 0) {
+					nextFrame = currentTime + timePerFrame;
+				}
 			}
 
 			if (System.currentTimeMillis() - lastCheck >= 1000) {
 				lastCheck = System.currentTimeMillis();
 //				System.out.println("FPS: " + frames + " | UPS: " + updates);
+				if (doRenders) {
+					Timings.setFps(frames);
+				}
+				if (doUpdates) {
+					Timings.setUps(updates);
+				}
 				frames = 0;
 				updates = 0;
 
 			}
+
+			if (!doRenders) {
+				waitUntil(nextUpdate);
+			} else if (!doUpdates) {
+				waitUntil(nextFrame);
+			} else {
+				waitUntil(nextUpdate - nextFrame < 0 ? nextUpdate : nextFrame);
+			}
 		}
 
 	}
 
-	public void windowFocusLost() {
-		if (Gamestate.state == Gamestate.PLAYING) {
-			playing.getPlayer().resetDirBooleans();
+	// park for most of the wait, then spin the last stretch since parkNanos tends to oversleep
+	private void waitUntil(long deadline) {
+		long remaining = deadline - System.nanoTime();
+		while (remaining > SPIN_THRESHOLD) {
+			LockSupport.parkNanos(remaining - SPIN_THRESHOLD);
+			remaining = deadline - System.nanoTime();
+		}
+		while (deadline - System.nanoTime() > 0) {
+			Thread.onSpinWait();
 		}
 	}
 
+	public void windowFocusLost() {
+		inputQueue.push(InputBatch.FOCUS_LOST, 0, 0, 0);
+	}
+
+	public int getLostFrames() {
+		return gamePanel != null ? gamePanel.getLostFrames() : 0;
+	}
+
+	public InputQueue getInputQueue() {
+		return inputQueue;
+	}
+
+	public int getTicks() {
+		return ticks;
+	}
+
 	public Menu getMenu() {
 		return menu;
 	}
@@ -0,0 +1,71 @@
+package main;
+
+import java.awt.AWTException;
+import java.awt.BufferCapabilities;
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.ImageCapabilities;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+import static main.Game.GAME_HEIGHT;
+import static main.Game.GAME_WIDTH;
+
+public class GameCanvas extends Canvas {
+
+	private static final long serialVersionUID = 1L;
+	private static final int BUFFERS = 3;
+
+	private Game game;
+	private BufferStrategy bufferStrategy;
+	private int lostFrames;
+
+	public GameCanvas(Game game) {
+		this.game = game;
+		setIgnoreRepaint(true);
+		setBackground(Color.BLACK);
+		Dimension size = new Dimension(GAME_WIDTH, GAME_HEIGHT);
+		setPreferredSize(size);
+	}
+
+	// must be called once the canvas is displayable (after the frame is packed)
+	public void initBufferStrategy() {
+		try {
+			// accelerated (VolatileImage) back buffers when the pipeline supports them
+			createBufferStrategy(BUFFERS, new BufferCapabilities(new ImageCapabilities(true), new ImageCapabilities(true), null));
+		} catch (AWTException e) {
+			createBufferStrategy(BUFFERS);
+		}
+		bufferStrategy = getBufferStrategy();
+	}
+
+	public void render() {
+		if (bufferStrategy == null) {
+			return;
+		}
+		do {
+			do {
+				Graphics g = bufferStrategy.getDrawGraphics();
+				try {
+					g.setColor(getBackground());
+					g.fillRect(0, 0, GAME_WIDTH, GAME_HEIGHT);
+					game.render(g);
+				} finally {
+					g.dispose();
+				}
+			} while (bufferStrategy.contentsRestored());
+			bufferStrategy.show();
+			if (bufferStrategy.contentsLost()) {
+				lostFrames++;
+			}
+		} while (bufferStrategy.contentsLost());
+		Toolkit.getDefaultToolkit().sync();
+	}
+
+	public int getLostFrames() {
+		return lostFrames;
+	}
+
+}
@@ -1,5 +1,7 @@
 package main;
 
+import java.awt.BorderLayout;
+import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import javax.swing.JPanel;
@@ -12,14 +14,27 @@ public class GamePanel extends JPanel {
 
 	private MouseInputs mouseInputs;
 	private Game game;
+	private GameCanvas canvas;
 
 	public GamePanel(Game game) {
 		mouseInputs = new MouseInputs(this);
 		this.game = game;
 		setPanelSize();
-		addKeyListener(new KeyboardInputs(this));
-		addMouseListener(mouseInputs);
-		addMouseMotionListener(mouseInputs);
+		if (Game.ACTIVE_RENDERING) {
+			initCanvas();
+		}
+		Component inputTarget = canvas != null ? canvas : this;
+		inputTarget.addKeyListener(new KeyboardInputs(this));
+		inputTarget.addMouseListener(mouseInputs);
+		inputTarget.addMouseMotionListener(mouseInputs);
+	}
+
+	private void initCanvas() {
+		// active rendering: frames are drawn straight from the game loop, Swing never paints us
+		setIgnoreRepaint(true);
+		setLayout(new BorderLayout());
+		canvas = new GameCanvas(game);
+		add(canvas, BorderLayout.CENTER);
 	}
 
 	private void setPanelSize() {
@@ -31,6 +46,26 @@ public class GamePanel extends JPanel {
 
 	}
 
+	public void initBufferStrategy() {
+		if (canvas != null) {
+			canvas.initBufferStrategy();
+			canvas.requestFocus();
+		}
+	}
+
+	public void renderFrame() {
+		if (canvas != null) {
+			canvas.render();
+		} else {
+			repaint();
+		}
+	}
+
+	// back buffers the OS threw away before they were shown, always 0 without active rendering
+	public int getLostFrames() {
+		return canvas != null ? canvas.getLostFrames() : 0;
+	}
+
 	public void paintComponent(Graphics g) {
 		super.paintComponent(g);
 		game.render(g);
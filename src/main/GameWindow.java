@@ -18,6 +18,7 @@ public class GameWindow {
 		jframe.pack();
 		jframe.setLocationRelativeTo(null);
 		jframe.setVisible(true);
+		gamePanel.initBufferStrategy();
 		jframe.addWindowFocusListener(new WindowFocusListener() {
 
 			@Override
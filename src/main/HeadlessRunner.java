@@ -0,0 +1,172 @@
+package main;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import java.awt.Rectangle;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+
+import gameStates.Playing;
+import inputs.InputBatch;
+import inputs.InputQueue;
+
+/*
+ * Runs the simulation without any window, as fast as the cpu allows.
+ * Usage: HeadlessRunner <ticks> [script]
+ * Script lines are "<tick> <left|right|jump|attack> <on|off>", # starts a comment.
+ * Everything, getting into the level included, goes in as input events through the game's input queue,
+ * so a run recorded with -Dplatformer.record replays with ReplayRunner.
+ */
+public class HeadlessRunner {
+
+	private static final int LEFT = 0;
+	private static final int RIGHT = 1;
+	private static final int JUMP = 2;
+	private static final int ATTACK = 3;
+
+	private Game game;
+	private int[] scriptTicks = new int[0];
+	private int[] scriptControls = new int[0];
+	private boolean[] scriptPressed = new boolean[0];
+	private int tick;
+
+	public HeadlessRunner() throws URISyntaxException, IOException {
+		game = new Game(true);
+		enterLevel();
+	}
+
+	// what a player does at startup: enter from the menu, leave the level completed overlay through its menu button, enter again
+	private void enterLevel() {
+		InputQueue queue = game.getInputQueue();
+		queue.push(InputBatch.KEY_PRESSED, KeyEvent.VK_ENTER, 0, 0);
+		queue.push(InputBatch.KEY_RELEASED, KeyEvent.VK_ENTER, 0, 0);
+		game.update();
+		Rectangle menu = game.getPlaying().getLevelCompletedOverlay().getMenuBounds();
+		int x = (int) menu.getCenterX(), y = (int) menu.getCenterY();
+		queue.push(InputBatch.MOUSE_PRESSED, MouseEvent.BUTTON1, x, y);
+		queue.push(InputBatch.MOUSE_RELEASED, MouseEvent.BUTTON1, x, y);
+		game.update();
+		queue.push(InputBatch.KEY_PRESSED, KeyEvent.VK_ENTER, 0, 0);
+		queue.push(InputBatch.KEY_RELEASED, KeyEvent.VK_ENTER, 0, 0);
+		game.update();
+	}
+
+	public void loadScript(List<String> lines) {
+		List<int[]> entries = new ArrayList<>();
+		for (int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i).trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			String[] parts = line.split("\\s+");
+			if (parts.length != 3) {
+				throw new IllegalArgumentException("Bad script line " + (i + 1) + ": " + line);
+			}
+			entries.add(new int[] { Integer.parseInt(parts[0]), parseControl(parts[1]), "on".equals(parts[2]) ? 1 : 0 });
+		}
+		// stable, so entries for the same tick keep their file order
+		entries.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+		scriptTicks = new int[entries.size()];
+		scriptControls = new int[entries.size()];
+		scriptPressed = new boolean[entries.size()];
+		for (int i = 0; i < entries.size(); i++) {
+			scriptTicks[i] = entries.get(i)[0];
+			scriptControls[i] = entries.get(i)[1];
+			scriptPressed[i] = entries.get(i)[2] == 1;
+		}
+	}
+
+	private int parseControl(String name) {
+		switch (name) {
+			case "left":
+				return LEFT;
+			case "right":
+				return RIGHT;
+			case "jump":
+				return JUMP;
+			case "attack":
+				return ATTACK;
+			default:
+				throw new IllegalArgumentException("Unknown control " + name);
+		}
+	}
+
+	// advances the given number of ticks, returns the elapsed nanoseconds
+	public long run(int ticks) {
+		int next = 0;
+		while (next < scriptTicks.length && scriptTicks[next] < tick) {
+			next++;
+		}
+		long start = System.nanoTime();
+		for (int end = tick + ticks; tick < end; tick++) {
+			while (next < scriptTicks.length && scriptTicks[next] == tick) {
+				applyInput(scriptControls[next], scriptPressed[next]);
+				next++;
+			}
+			game.update();
+		}
+		return System.nanoTime() - start;
+	}
+
+	// the keys and clicks KeyboardInputs and MouseInputs would queue for the control
+	private void applyInput(int control, boolean pressed) {
+		InputQueue queue = game.getInputQueue();
+		int keyType = pressed ? InputBatch.KEY_PRESSED : InputBatch.KEY_RELEASED;
+		switch (control) {
+			case LEFT:
+				queue.push(keyType, KeyEvent.VK_A, 0, 0);
+				break;
+			case RIGHT:
+				queue.push(keyType, KeyEvent.VK_D, 0, 0);
+				break;
+			case JUMP:
+				queue.push(keyType, KeyEvent.VK_SPACE, 0, 0);
+				break;
+			case ATTACK:
+				// an attack is a click, it ends by itself
+				if (pressed) {
+					queue.push(InputBatch.MOUSE_CLICKED, MouseEvent.BUTTON1, 0, 0);
+				}
+				break;
+		}
+	}
+
+	public Game getGame() {
+		return game;
+	}
+
+	public int getTick() {
+		return tick;
+	}
+
+	public static void main(String[] args) throws URISyntaxException, IOException {
+		if (System.getProperty("java.awt.headless") == null) {
+			System.setProperty("java.awt.headless", "true");
+		}
+		if (args.length < 1) {
+			System.err.println("Usage: HeadlessRunner <ticks> [script]");
+			System.exit(1);
+		}
+		int ticks = Integer.parseInt(args[0]);
+
+		HeadlessRunner runner = new HeadlessRunner();
+		if (args.length > 1) {
+			runner.loadScript(Files.readAllLines(Paths.get(args[1]), StandardCharsets.UTF_8));
+		}
+		long nanos = runner.run(ticks);
+
+		Playing playing = runner.getGame().getPlaying();
+		System.out.println("Ticks: " + ticks + " | Time: " + nanos / 1000000 + " ms | Ticks/s: "
+				+ (long) (ticks * 1e9 / Math.max(1, nanos)));
+		System.out.println("Player: " + playing.getPlayer().getHitbox().x + ", " + playing.getPlayer().getHitbox().y
+				+ " | Game over: " + playing.isGameOver());
+	}
+
+}
@@ -0,0 +1,59 @@
+package main;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+
+import gameStates.Gamestate;
+import inputs.InputBatch;
+import inputs.InputReplay;
+
+/*
+ * Feeds a log recorded with -Dplatformer.record back through a fresh headless game,
+ * as fast as possible, and checks the recorded state hashes along the way.
+ * Usage: ReplayRunner <log>
+ */
+public class ReplayRunner {
+
+	public static void main(String[] args) throws URISyntaxException, IOException {
+		if (System.getProperty("java.awt.headless") == null) {
+			System.setProperty("java.awt.headless", "true");
+		}
+		if (args.length < 1) {
+			System.err.println("Usage: ReplayRunner <log>");
+			System.exit(1);
+		}
+
+		InputReplay replay = new InputReplay(new FileInputStream(args[0]));
+		Gamestate.state = Gamestate.MENU;
+		Game game = new Game(true);
+		InputBatch inputs = new InputBatch();
+
+		int tick = 0;
+		int checked = 0;
+		long start = System.nanoTime();
+		while (true) {
+			if (replay.hasHash(tick)) {
+				long expected = replay.readHash();
+				long actual = game.computeStateHash();
+				if (expected != actual) {
+					System.out.println("Diverged at tick " + tick + " | Expected: " + Long.toHexString(expected)
+							+ " | Got: " + Long.toHexString(actual));
+					System.exit(2);
+				}
+				checked++;
+			}
+			if (replay.isFinished(tick)) {
+				break;
+			}
+			replay.readInputs(tick, inputs);
+			game.update(inputs);
+			tick++;
+		}
+		long nanos = System.nanoTime() - start;
+		replay.close();
+
+		System.out.println("Replayed " + tick + " ticks in " + nanos / 1000000 + " ms | Hashes matched: " + checked);
+	}
+
+}
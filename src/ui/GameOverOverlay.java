@@ -8,6 +8,8 @@ import java.awt.*;
 import java.awt.event.KeyEvent;
 
 public class GameOverOverlay {
+
+    private static final Color DIM = new Color(0, 0, 0, 200);
     private Playing playing;
 
     public GameOverOverlay(Playing playing) {
@@ -15,7 +17,7 @@ public class GameOverOverlay {
     }
 
     public void draw(Graphics g) {
-        g.setColor(new Color(0,0,0, 200));
+        g.setColor(DIM);
         g.fillRect(0, 0, Game.GAME_WIDTH, Game.GAME_HEIGHT);
 
         g.setColor(Color.WHITE);
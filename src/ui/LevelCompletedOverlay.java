@@ -1,8 +1,11 @@
 package ui;
 
+import gameStates.Gamestate;
 import gameStates.Playing;
 import main.Game;
+import utilz.AtlasRegistry;
 import utilz.LoadSave;
+import utilz.Log;
 
 import java.awt.*;
 import java.awt.event.MouseEvent;
@@ -34,7 +37,7 @@ public class LevelCompletedOverlay {
     }
 
     private void initImg() {
-        img = LoadSave.getSpriteAtlas(LoadSave.COMPLETED_IMG);
+        img = AtlasRegistry.acquire(LoadSave.COMPLETED_IMG).getImage();
         bgW = (int) (img.getWidth() * Game.SCALE);
         bgH = (int) (img.getHeight() * Game.SCALE);
         bgX = Game.GAME_WIDTH / 2 - bgW /2;
@@ -72,11 +75,16 @@ public class LevelCompletedOverlay {
     public void mouseReleased(MouseEvent e) {
         if (isIn(e, menu)) {
             if (menu.isMousePressed()) {
-                System.out.println("menu!");
+                Log.debug(() -> "Level completed overlay: menu");
+                playing.setLvlCompleted(false);
+                playing.resetAll();
+                Gamestate.state = Gamestate.MENU;
             }
         } else if (isIn(e, next)) {
             if (next.isMousePressed()) {
-                System.out.println("next!");
+                Log.debug(() -> "Level completed overlay: next");
+                playing.setLvlCompleted(false);
+                playing.loadNextLevel();
             }
         }
         menu.resetBools();
@@ -87,8 +95,12 @@ public class LevelCompletedOverlay {
         if (isIn(e, menu)) {
             menu.setMousePressed(true);
         } else if (isIn(e, next)) {
-            next.setMouseOver(true);
+            next.setMousePressed(true);
         }
 
     }
+
+    public Rectangle getMenuBounds() {
+        return menu.getBounds();
+    }
 }
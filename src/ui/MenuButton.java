@@ -1,6 +1,7 @@
 package ui;
 
 import gameStates.Gamestate;
+import utilz.AtlasRegistry;
 import utilz.LoadSave;
 
 import java.awt.*;
@@ -31,9 +32,9 @@ public class MenuButton {
 
     private void loadImgs() {
         imgs = new BufferedImage[3];
-        BufferedImage temp = LoadSave.getSpriteAtlas(LoadSave.MENU_BUTTONS);
+        AtlasRegistry.Atlas atlas = AtlasRegistry.acquire(LoadSave.MENU_BUTTONS, B_WIDTH_DEFAULT, B_HEIGHT_DEFAULT);
         for (int i = 0; i < imgs.length; i++) {
-            imgs[i] = temp.getSubimage(i * B_WIDTH_DEFAULT, rowIndex * B_HEIGHT_DEFAULT, B_WIDTH_DEFAULT, B_HEIGHT_DEFAULT);
+            imgs[i] = atlas.getSprite(i, rowIndex);
         }
     }
 
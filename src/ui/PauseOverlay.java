@@ -3,6 +3,7 @@ package ui;
 import gameStates.Gamestate;
 import gameStates.Playing;
 import main.Game;
+import utilz.AtlasRegistry;
 import utilz.LoadSave;
 
 import java.awt.*;
@@ -57,7 +58,7 @@ public class PauseOverlay {
     }
 
     private void loadBackground() {
-        backgroundImg = LoadSave.getSpriteAtlas(LoadSave.PAUSE_BACKGROUND);
+        backgroundImg = AtlasRegistry.acquire(LoadSave.PAUSE_BACKGROUND).getImage();
         bgW = (int) (backgroundImg.getWidth() * Game.SCALE);
         bgH = (int) (backgroundImg.getHeight() * Game.SCALE);
         bgX = Game.GAME_WIDTH / 2 - bgW / 2;
@@ -1,5 +1,6 @@
 package ui;
 
+import utilz.AtlasRegistry;
 import utilz.LoadSave;
 
 import java.awt.*;
@@ -18,11 +19,11 @@ public class SoundButton extends PauseButton {
     }
 
     private void loadSoundImgs() {
-        BufferedImage temp = LoadSave.getSpriteAtlas(LoadSave.SOUND_BUTTONS);
+        AtlasRegistry.Atlas atlas = AtlasRegistry.acquire(LoadSave.SOUND_BUTTONS, SOUND_SIZE_DEFAULT, SOUND_SIZE_DEFAULT);
         soundImgs = new BufferedImage[2][3];
         for (int j = 0; j < soundImgs.length; j++) {
             for (int i = 0; i < soundImgs[j].length; i++) {
-                soundImgs[j][i] = temp.getSubimage(i * SOUND_SIZE_DEFAULT, j * SOUND_SIZE_DEFAULT, SOUND_SIZE_DEFAULT, SOUND_SIZE_DEFAULT);
+                soundImgs[j][i] = atlas.getSprite(i, j);
             }
         }
     }
@@ -0,0 +1,53 @@
+package ui;
+
+import java.awt.Color;
+import java.awt.Graphics;
+
+import main.Game;
+import utilz.TimingHistogram;
+import utilz.Timings;
+import utilz.Viewport;
+
+// toggled with F3, only builds its strings while it is shown
+public class TimingsOverlay {
+
+	private static final Color BACKGROUND = new Color(0, 0, 0, 170);
+	private static final int LINE_HEIGHT = 16;
+
+	private int x = (int) (10 * Game.SCALE);
+	private int y = (int) (80 * Game.SCALE);
+	private int width = 340;
+
+	public void draw(Graphics g, Game game) {
+		int lines = Timings.NAMES.length + 3;
+		g.setColor(BACKGROUND);
+		g.fillRect(x, y, width, lines * LINE_HEIGHT + 8);
+
+		g.setColor(Color.WHITE);
+		int lineY = y + LINE_HEIGHT;
+		g.drawString("FPS: " + Timings.getFps() + " | UPS: " + Timings.getUps() + " | lost frames: " + game.getLostFrames(), x + 8, lineY);
+		lineY += LINE_HEIGHT;
+		// from the last finished Playing frame, so it stays put while in the menu
+		Viewport viewport = game.getPlaying().getViewport();
+		g.drawString("drawn: " + viewport.getDrawnCount() + " | culled: " + viewport.getCulledCount()
+				+ " | dropped input: " + game.getInputQueue().getDropped(), x + 8, lineY);
+		lineY += LINE_HEIGHT;
+		g.drawString("section (us)", x + 8, lineY);
+		g.drawString("p50", x + 140, lineY);
+		g.drawString("p99", x + 205, lineY);
+		g.drawString("max", x + 270, lineY);
+		for (int i = 0; i < Timings.NAMES.length; i++) {
+			TimingHistogram h = Timings.get(i);
+			lineY += LINE_HEIGHT;
+			g.drawString(Timings.NAMES[i], x + 8, lineY);
+			g.drawString(micros(h.getPercentile(0.5)), x + 140, lineY);
+			g.drawString(micros(h.getPercentile(0.99)), x + 205, lineY);
+			g.drawString(micros(h.getMax()), x + 270, lineY);
+		}
+	}
+
+	private String micros(long nanos) {
+		return Long.toString((nanos + 500) / 1000);
+	}
+
+}
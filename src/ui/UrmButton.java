@@ -1,5 +1,6 @@
 package ui;
 
+import utilz.AtlasRegistry;
 import utilz.LoadSave;
 
 import java.awt.*;
@@ -19,10 +20,10 @@ public class UrmButton extends PauseButton {
     }
 
     private void loadImgs() {
-        BufferedImage temp = LoadSave.getSpriteAtlas(LoadSave.URM_BUTTONS);
+        AtlasRegistry.Atlas atlas = AtlasRegistry.acquire(LoadSave.URM_BUTTONS, URM_DEFAULT_SIZE, URM_DEFAULT_SIZE);
         imgs = new BufferedImage[3];
         for (int i = 0; i < imgs.length; i++) {
-            imgs[i] = temp.getSubimage(i * URM_DEFAULT_SIZE, rowIndex * URM_DEFAULT_SIZE, URM_DEFAULT_SIZE, URM_DEFAULT_SIZE);
+            imgs[i] = atlas.getSprite(i, rowIndex);
         }
     }
 
@@ -1,5 +1,6 @@
 package ui;
 
+import utilz.AtlasRegistry;
 import utilz.LoadSave;
 
 import java.awt.*;
@@ -27,12 +28,12 @@ public class VolumeButton extends PauseButton {
     }
 
     private void loadImgs() {
-        BufferedImage temp = LoadSave.getSpriteAtlas(LoadSave.VOLUME_BUTTONS);
+        AtlasRegistry.Atlas atlas = AtlasRegistry.acquire(LoadSave.VOLUME_BUTTONS, VOLUME_DEFAULT_WIDTH, VOLUME_DEFAULT_HEIGHT);
         imgs = new BufferedImage[3];
         for (int i = 0; i < imgs.length; i++) {
-            imgs[i] = temp.getSubimage(i * VOLUME_DEFAULT_WIDTH, 0, VOLUME_DEFAULT_WIDTH, VOLUME_DEFAULT_HEIGHT);
+            imgs[i] = atlas.getSprite(i, 0);
         }
-        slider = temp.getSubimage(3 * VOLUME_DEFAULT_WIDTH, 0, SLIDER_DEFAULT_WIDTH, VOLUME_DEFAULT_HEIGHT);
+        slider = atlas.getRegion(3 * VOLUME_DEFAULT_WIDTH, 0, SLIDER_DEFAULT_WIDTH, VOLUME_DEFAULT_HEIGHT);
     }
 
     public void update() {
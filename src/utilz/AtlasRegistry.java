@@ -0,0 +1,98 @@
+package utilz;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+
+public class AtlasRegistry {
+
+	private static final HashMap<String, Atlas> atlases = new HashMap<>();
+
+	public static class Atlas {
+		private final String fileName;
+		private final BufferedImage image;
+		private final int frameWidth, frameHeight;
+		private final BufferedImage[][] sprites;
+		private int refCount;
+
+		private Atlas(String fileName, BufferedImage image, int frameWidth, int frameHeight) {
+			this.fileName = fileName;
+			this.image = image;
+			this.frameWidth = frameWidth;
+			this.frameHeight = frameHeight;
+			sprites = new BufferedImage[image.getHeight() / frameHeight][image.getWidth() / frameWidth];
+			for (int j = 0; j < sprites.length; j++)
+				for (int i = 0; i < sprites[j].length; i++)
+					sprites[j][i] = image.getSubimage(i * frameWidth, j * frameHeight, frameWidth, frameHeight);
+		}
+
+		public BufferedImage getImage() {
+			return image;
+		}
+
+		// a cell of the declared grid, shared by everyone holding this atlas
+		public BufferedImage getSprite(int col, int row) {
+			return sprites[row][col];
+		}
+
+		// for parts that don't sit on the grid
+		public BufferedImage getRegion(int x, int y, int width, int height) {
+			return image.getSubimage(x, y, width, height);
+		}
+
+		public int getColumns() {
+			return sprites.length == 0 ? 0 : sprites[0].length;
+		}
+
+		public int getRows() {
+			return sprites.length;
+		}
+
+		public void release() {
+			AtlasRegistry.release(this);
+		}
+	}
+
+	public static Atlas acquire(String fileName) {
+		return acquire(fileName, 0, 0);
+	}
+
+	// frame size 0 means the whole image is one sprite; the first caller declares the grid
+	public static synchronized Atlas acquire(String fileName, int frameWidth, int frameHeight) {
+		Atlas atlas = atlases.get(fileName);
+		if (atlas == null) {
+			BufferedImage image = toCompatible(LoadSave.getSpriteAtlas(fileName));
+			if (frameWidth == 0) {
+				frameWidth = image.getWidth();
+				frameHeight = image.getHeight();
+			}
+			atlas = new Atlas(fileName, image, frameWidth, frameHeight);
+			atlases.put(fileName, atlas);
+		} else if (frameWidth != 0 && (frameWidth != atlas.frameWidth || frameHeight != atlas.frameHeight)) {
+			throw new IllegalArgumentException(fileName + " is declared with " + atlas.frameWidth + "x" + atlas.frameHeight
+					+ " frames, not " + frameWidth + "x" + frameHeight);
+		}
+		atlas.refCount++;
+		return atlas;
+	}
+
+	private static synchronized void release(Atlas atlas) {
+		if (atlas.refCount == 0) {
+			throw new IllegalStateException(atlas.fileName + " released more often than acquired");
+		}
+		atlas.refCount--;
+		if (atlas.refCount == 0) {
+			atlases.remove(atlas.fileName);
+			atlas.image.flush();
+		}
+	}
+
+	private static BufferedImage toCompatible(BufferedImage src) {
+		BufferedImage img = LoadSave.createCompatibleImage(src.getWidth(), src.getHeight());
+		Graphics2D g = img.createGraphics();
+		g.drawImage(src, 0, 0, null);
+		g.dispose();
+		return img;
+	}
+
+}
@@ -102,6 +102,20 @@ public class Constants {
 		}
 	}
 
+	public static class TileTypes {
+		public static final byte AIR = 0;
+		public static final byte SOLID = 1;
+		public static final byte ONE_WAY = 2;
+		public static final byte SLOPE_UP = 3;
+		public static final byte SLOPE_DOWN = 4;
+		public static final byte DECORATION = 5;
+
+		// slopes block like full tiles until the physics learns their surface
+		public static boolean isSolidType(int tileType) {
+			return tileType == SOLID || tileType == SLOPE_UP || tileType == SLOPE_DOWN;
+		}
+	}
+
 	public static class Directions {
 		public static final int LEFT = 0;
 		public static final int UP = 1;
@@ -1,6 +1,8 @@
 package utilz;
 
 import entities.Crabby;
+import levels.TileGrid;
+import levels.Tileset;
 import main.Game;
 
 import java.awt.*;
@@ -13,7 +15,7 @@ import static utilz.Constants.EnemyConstants.CRABBY;
 public class HelpMethods {
 
     // collison for corners
-    public static boolean canMoveHere(float x, float y, float width, float height, int[][] lvlData) {
+    public static boolean canMoveHere(float x, float y, float width, float height, TileGrid lvlData) {
         if (!isSolid(x, y, lvlData)) { // top left
             if (!isSolid(x+width, y+height, lvlData)) { // bottom right
                 if (!isSolid(x + width, y, lvlData)) { // top right
@@ -26,8 +28,8 @@ public class HelpMethods {
         return false;
     }
 
-    private static boolean isSolid(float x, float y, int[][] lvlData) {
-        int maxWidth = lvlData[0].length * Game.TILES_SIZE;
+    private static boolean isSolid(float x, float y, TileGrid lvlData) {
+        int maxWidth = lvlData.getWidth() * Game.TILES_SIZE;
         if (x < 0 || x >= maxWidth) {
             return true;
         }
@@ -40,59 +42,36 @@ public class HelpMethods {
 
     }
 
-    public static boolean isTileSolid(int xTile, int yTile, int[][] lvlData) {
-        int value = lvlData[yTile][xTile];
-
-        if (value != 11) {
-            return true;
-        }
-        return false;
+    public static boolean isTileSolid(int xTile, int yTile, TileGrid lvlData) {
+        return lvlData.isSolid(xTile, yTile);
     }
-    // collsions for left/right
-    public static float getEntityXPosNextToWall(Rectangle2D.Float hitbox, float xSpeed) {
-        int currentTile = (int) (hitbox.x / Game.TILES_SIZE);
-        if (xSpeed > 0) {
-            // right collision
-            int tileXPos = currentTile * Game.TILES_SIZE;
-            int xOffset = (int) (Game.TILES_SIZE - hitbox.width);
-            return tileXPos + xOffset - 1;
-        } else {
-            // left collision
-            return currentTile * Game.TILES_SIZE;
-        }
-    }
-
-    public static float getEntityYPosUnderRoofOrAboveFloor(Rectangle2D.Float hitbox, float airSpeed) {
-        int currentTile = (int) (hitbox.y / Game.TILES_SIZE);
-        if (airSpeed > 0) {
-            // falling, touchiung floor
-            int tileYPos = currentTile * Game.TILES_SIZE;
-            int yOffset = (int) (Game.TILES_SIZE - hitbox.height);
-            return tileYPos + yOffset - 1;
-        } else {
-            // jump
-            return currentTile * Game.TILES_SIZE;
+    // solid, or the top pixel row of a one way platform
+    private static boolean isFloorAt(float x, float y, TileGrid lvlData) {
+        if (isSolid(x, y, lvlData)) {
+            return true;
         }
+        int yTile = (int) (y / Game.TILES_SIZE);
+        return (int) y == yTile * Game.TILES_SIZE && lvlData.isOneWay((int) (x / Game.TILES_SIZE), yTile);
     }
 
-    public static boolean isEntityOnFloor(Rectangle2D.Float hitbox, int[][] lvlData) {
+    public static boolean isEntityOnFloor(Rectangle2D.Float hitbox, TileGrid lvlData) {
         // Check the pixel below bootomleft and bottomright
-        if (!isSolid(hitbox.x, hitbox.y+hitbox.height + 1, lvlData)) {
-            if (!isSolid(hitbox.x + hitbox.width, hitbox.y+hitbox.height + 1, lvlData)) {
+        if (!isFloorAt(hitbox.x, hitbox.y+hitbox.height + 1, lvlData)) {
+            if (!isFloorAt(hitbox.x + hitbox.width, hitbox.y+hitbox.height + 1, lvlData)) {
                 return false;
             }
         }
         return true;
     }
 
-    public static boolean isFloor(Rectangle2D.Float hitbox, float xSpeed,int[][] lvlData) {
+    public static boolean isFloor(Rectangle2D.Float hitbox, float xSpeed,TileGrid lvlData) {
         if (xSpeed > 0) {
-            return isSolid(hitbox.x +hitbox.width + xSpeed, hitbox.y + hitbox.height + 1, lvlData);
+            return isFloorAt(hitbox.x +hitbox.width + xSpeed, hitbox.y + hitbox.height + 1, lvlData);
         }
-        return isSolid(hitbox.x + xSpeed, hitbox.y + hitbox.height + 1, lvlData);
+        return isFloorAt(hitbox.x + xSpeed, hitbox.y + hitbox.height + 1, lvlData);
     }
 
-    public static boolean isSightClear(int[][] lvlData, Rectangle2D.Float firstHitbox,
+    public static boolean isSightClear(TileGrid lvlData, Rectangle2D.Float firstHitbox,
                                        Rectangle2D.Float secondHitbox, int yTile) {
         int firstXTile = (int) (firstHitbox.x / Game.TILES_SIZE);
         int secondXTile = (int) (secondHitbox.x / Game.TILES_SIZE);
@@ -103,27 +82,19 @@ public class HelpMethods {
         }
     }
 
-    public static boolean isAllTilesWalkable(int xStart, int xEnd, int y, int[][] lvlData) {
-        for (int i = 0; i < xEnd - xStart; i++) {
-            if (isTileSolid(xStart + i, y, lvlData)) {
-                return false;
-            }
-            if (!isTileSolid(xStart + i, y + 1, lvlData)) {
-                return false;
-            }
-        }
-        return true;
+    public static boolean isAllTilesWalkable(int xStart, int xEnd, int y, TileGrid lvlData) {
+        return lvlData.isWalkableRun(xStart, xEnd, y);
     }
 
-    public static int[][] getLevelData(BufferedImage img) {
-        int[][] lvlData = new int[img.getHeight()][img.getWidth()];
+    public static TileGrid getLevelData(BufferedImage img) {
+        TileGrid lvlData = new TileGrid(img.getWidth(), img.getHeight(), Tileset.getOutside());
         for (int j = 0; j < img.getHeight(); j++)
             for (int i = 0; i < img.getWidth(); i++) {
                 Color color = new Color(img.getRGB(i, j));
                 int value = color.getRed();
                 if (value >= 48)
                     value = 0;
-                lvlData[j][i] = value;
+                lvlData.set(i, j, value);
             }
         return lvlData;
 
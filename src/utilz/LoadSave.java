@@ -1,13 +1,34 @@
 package utilz;
 
 import java.awt.Color;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.imageio.ImageIO;
 
@@ -33,8 +54,56 @@ public class LoadSave {
 	public static final String CRABBY_SPRITE = "crabby_sprite.png";
 	public static final String STATUS_BAR = "health_power_bar.png";
 	public static final String COMPLETED_IMG = "completed_sprite.png";
+	public static final String TILE_COLLISION = "tile_collision.txt";
+	public static final String LEVELS_FOLDER = "lvls";
+	public static final String LEVEL_MANIFEST = LEVELS_FOLDER + "/levels.txt";
 
+	public static final String[] ALL_ATLASES = { PLAYER_ATLAS, LEVEL_ATLAS, MENU_BUTTONS, MENU_BACKGROUND, PAUSE_BACKGROUND,
+			SOUND_BUTTONS, URM_BUTTONS, VOLUME_BUTTONS, MENU_BACKGROUND_IMG, PLAYING_BG_IMG, SMALL_CLOUDS, BIG_CLOUDS,
+			CRABBY_SPRITE, STATUS_BAR, COMPLETED_IMG };
+
+	// bounded pool for decoding assets, daemon so it never keeps the game alive
+	private static final ExecutorService LOADER = Executors.newFixedThreadPool(
+			Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())), r -> {
+				Thread t = new Thread(r, "asset-loader");
+				t.setDaemon(true);
+				return t;
+			});
+	private static final ConcurrentHashMap<String, Future<BufferedImage>> atlasLoads = new ConcurrentHashMap<>();
+
+	// starts decoding the atlases on the loader threads, getSpriteAtlas picks up the results
+	public static void preloadAtlases(String... fileNames) {
+		for (String fileName : fileNames) {
+			getSpriteAtlasAsync(fileName);
+		}
+	}
+
+	public static Future<BufferedImage> getSpriteAtlasAsync(String fileName) {
+		return atlasLoads.computeIfAbsent(fileName, name -> LOADER.submit(() -> readSpriteAtlas(name)));
+	}
+
+	public static <T> Future<T> submit(Callable<T> task) {
+		return LOADER.submit(task);
+	}
+
+	// hands over a preloaded atlas only once, the caller (normally AtlasRegistry) is the one that keeps it
 	public static BufferedImage getSpriteAtlas(String fileName) {
+		Future<BufferedImage> load = atlasLoads.remove(fileName);
+		if (load == null) {
+			return readSpriteAtlas(fileName);
+		}
+		try {
+			return load.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return readSpriteAtlas(fileName);
+		} catch (ExecutionException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	private static BufferedImage readSpriteAtlas(String fileName) {
 		BufferedImage img = null;
 		InputStream is = LoadSave.class.getResourceAsStream("/" + fileName);
 		try {
@@ -52,28 +121,92 @@ public class LoadSave {
 		return img;
 	}
 
-	public static BufferedImage[] getAllLevels() throws URISyntaxException, IOException {
-		URL url = LoadSave.class.getResource("/lvls");
-		File file = null;
+	public static byte[] readBytes(String fileName) throws IOException {
+		InputStream is = LoadSave.class.getResourceAsStream("/" + fileName);
+		if (is == null) {
+			throw new IOException("Missing resource " + fileName);
+		}
+		try (InputStream in = is) {
+			return in.readAllBytes();
+		}
+	}
+
+	// compiled levels are cached here, -Dplatformer.levelCache overrides it
+	public static File getLevelCacheDir() {
+		String dir = System.getProperty("platformer.levelCache");
+		if (dir == null) {
+			dir = System.getProperty("user.home") + File.separator + ".java-platformer" + File.separator + "levels";
+		}
+		return new File(dir);
+	}
+
+	public static List<String> readLines(String fileName) {
+		List<String> lines = new ArrayList<>();
+		InputStream is = LoadSave.class.getResourceAsStream("/" + fileName);
+		if (is == null) {
+			throw new IllegalStateException("Missing resource " + fileName);
+		}
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lines.add(line);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		return lines;
+	}
 
-		assert url != null;
-		file = new File(url.toURI());
+	// image in the display's native pixel layout so drawing it is a plain copy
+	public static BufferedImage createCompatibleImage(int width, int height) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		}
+		GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+		return gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+	}
+
+	// the manifest works from a jar as well as a folder, listing the folder is only a fallback
+	public static String[] getLevelNames() throws URISyntaxException, IOException {
+		List<String> names = new ArrayList<>();
+		if (LoadSave.class.getResource("/" + LEVEL_MANIFEST) != null) {
+			for (String line : readLines(LEVEL_MANIFEST)) {
+				line = line.trim();
+				if (!line.isEmpty() && !line.startsWith("#")) {
+					names.add(line);
+				}
+			}
+			return names.toArray(new String[0]);
+		}
 
-		File[] files = file.listFiles();
-		File[] filesSorted = new File[files.length];
-		for (int i = 0; i < filesSorted.length; i++) {
-			for (int j = 0; j < files.length; j++) {
-				if (files[j].getName().equals("" + (i + 1) + ".png")) {
-					filesSorted[i] = files[j];
+		URL url = LoadSave.class.getResource("/" + LEVELS_FOLDER);
+		if (url == null) {
+			throw new IOException("No " + LEVELS_FOLDER + " folder on the classpath");
+		}
+		URI uri = url.toURI();
+		if ("jar".equals(uri.getScheme())) {
+			try (FileSystem fs = FileSystems.newFileSystem(uri, Collections.emptyMap());
+				 DirectoryStream<Path> dir = Files.newDirectoryStream(fs.getPath("/" + LEVELS_FOLDER), "*.png")) {
+				for (Path p : dir) {
+					names.add(p.getFileName().toString());
 				}
 			}
+		} else {
+			File[] files = new File(uri).listFiles((dir, name) -> name.endsWith(".png"));
+			for (File f : files) {
+				names.add(f.getName());
+			}
 		}
-		BufferedImage[] imgs = new BufferedImage[filesSorted.length];
+		names.sort(Comparator.comparingInt(LoadSave::levelNumber));
+		return names.toArray(new String[0]);
+	}
 
-		for (int i= 0; i < imgs.length; i++) {
-			imgs[i] = ImageIO.read(filesSorted[i]);
+	private static int levelNumber(String fileName) {
+		try {
+			return Integer.parseInt(fileName.substring(0, fileName.lastIndexOf('.')));
+		} catch (NumberFormatException e) {
+			return Integer.MAX_VALUE;
 		}
-		return imgs;
 	}
 
 }
@@ -0,0 +1,174 @@
+package utilz;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/*
+ * Level gated logging that never blocks the caller. Messages below the level are never built,
+ * the rest go through a bounded lock-free ring to a background thread that appends them to a file.
+ * -Dplatformer.logLevel=TRACE|DEBUG|INFO|WARN|ERROR|OFF (default INFO), -Dplatformer.logFile=path.
+ */
+public class Log {
+
+	public enum Level {
+		TRACE, DEBUG, INFO, WARN, ERROR, OFF
+	}
+
+	private static final int CAPACITY = 1024;
+	private static final int MASK = CAPACITY - 1;
+	private static final long IDLE_PARK = 20_000_000L;
+
+	private static final Level LEVEL = parseLevel(System.getProperty("platformer.logLevel"));
+	private static final File FILE = new File(System.getProperty("platformer.logFile",
+			System.getProperty("user.home") + File.separator + ".java-platformer" + File.separator + "platformer.log"));
+
+	// producers claim a slot by advancing tail, the writer frees it by advancing head
+	private static final AtomicReferenceArray<String> slots = new AtomicReferenceArray<>(CAPACITY);
+	private static final AtomicLong tail = new AtomicLong();
+	private static final AtomicLong head = new AtomicLong();
+	private static final AtomicLong dropped = new AtomicLong();
+	// writer side, how much of dropped the file already mentions
+	private static long reportedDropped;
+	private static Writer out;
+
+	static {
+		if (LEVEL != Level.OFF) {
+			Thread writer = new Thread(Log::runWriter, "log-writer");
+			writer.setDaemon(true);
+			writer.start();
+			Runtime.getRuntime().addShutdownHook(new Thread(Log::drain, "log-flush"));
+		}
+	}
+
+	private static Level parseLevel(String name) {
+		if (name == null) {
+			return Level.INFO;
+		}
+		try {
+			return Level.valueOf(name.trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			return Level.INFO;
+		}
+	}
+
+	public static boolean isEnabled(Level level) {
+		return level.ordinal() >= LEVEL.ordinal() && level != Level.OFF;
+	}
+
+	public static void trace(Supplier<String> message) {
+		log(Level.TRACE, message, null);
+	}
+
+	public static void debug(Supplier<String> message) {
+		log(Level.DEBUG, message, null);
+	}
+
+	public static void info(Supplier<String> message) {
+		log(Level.INFO, message, null);
+	}
+
+	public static void warn(Supplier<String> message, Throwable error) {
+		log(Level.WARN, message, error);
+	}
+
+	public static void error(Supplier<String> message, Throwable error) {
+		log(Level.ERROR, message, error);
+	}
+
+	public static void log(Level level, Supplier<String> message, Throwable error) {
+		if (!isEnabled(level)) {
+			return;
+		}
+		StringBuilder sb = new StringBuilder(96);
+		sb.append(System.currentTimeMillis()).append(' ').append(level).append(" [").append(Thread.currentThread().getName())
+				.append("] ").append(message.get()).append(System.lineSeparator());
+		if (error != null) {
+			StringWriter trace = new StringWriter();
+			error.printStackTrace(new PrintWriter(trace));
+			sb.append(trace);
+		}
+		offer(sb.toString());
+	}
+
+	private static void offer(String line) {
+		while (true) {
+			long t = tail.get();
+			if (t - head.get() >= CAPACITY) {
+				// writer is behind, dropping beats stalling the game thread
+				dropped.incrementAndGet();
+				return;
+			}
+			if (tail.compareAndSet(t, t + 1)) {
+				slots.set((int) t & MASK, line);
+				return;
+			}
+		}
+	}
+
+	private static void runWriter() {
+		while (true) {
+			if (!drain()) {
+				LockSupport.parkNanos(IDLE_PARK);
+			}
+		}
+	}
+
+	// writer thread and the shutdown hook, true if anything was written
+	private static synchronized boolean drain() {
+		boolean wrote = false;
+		long h = head.get();
+		while (true) {
+			int i = (int) h & MASK;
+			// a claimed slot stays null until its producer has stored the message
+			String line = slots.get(i);
+			if (line == null) {
+				break;
+			}
+			slots.lazySet(i, null);
+			head.set(++h);
+			write(line);
+			wrote = true;
+		}
+		// the ring has just been emptied, so there is room again and the gap can be marked where it happened
+		long lost = dropped.get() - reportedDropped;
+		if (lost > 0) {
+			reportedDropped += lost;
+			write(System.currentTimeMillis() + " " + Level.WARN + " [" + Thread.currentThread().getName() + "] " + lost
+					+ " log lines dropped, the writer fell behind" + System.lineSeparator());
+			wrote = true;
+		}
+		if (wrote && out != null) {
+			try {
+				out.flush();
+			} catch (IOException e) {
+				out = null;
+			}
+		}
+		return wrote;
+	}
+
+	private static void write(String line) {
+		try {
+			if (out == null) {
+				FILE.getAbsoluteFile().getParentFile().mkdirs();
+				out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FILE, true), StandardCharsets.UTF_8));
+			}
+			out.write(line);
+		} catch (IOException e) {
+			// nowhere left to report it, the message is lost
+			out = null;
+		}
+	}
+
+}
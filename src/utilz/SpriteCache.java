@@ -0,0 +1,49 @@
+package utilz;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+public class SpriteCache {
+
+	private BufferedImage[][] frames;
+	private BufferedImage[][] flippedFrames;
+
+	// scales every frame to width x height once, plus a mirrored copy, so drawing is a 1:1 blit
+	public SpriteCache(BufferedImage[][] source, int width, int height) {
+		frames = new BufferedImage[source.length][];
+		flippedFrames = new BufferedImage[source.length][];
+		for (int j = 0; j < source.length; j++) {
+			frames[j] = new BufferedImage[source[j].length];
+			flippedFrames[j] = new BufferedImage[source[j].length];
+			for (int i = 0; i < source[j].length; i++) {
+				frames[j][i] = bake(source[j][i], width, height, false);
+				flippedFrames[j][i] = bake(source[j][i], width, height, true);
+			}
+		}
+	}
+
+	// for single images that are always drawn at one size, like backgrounds
+	public static BufferedImage prescale(BufferedImage src, int width, int height) {
+		return bake(src, width, height, false);
+	}
+
+	private static BufferedImage bake(BufferedImage src, int width, int height, boolean flipped) {
+		BufferedImage img = LoadSave.createCompatibleImage(width, height);
+		Graphics2D g = img.createGraphics();
+		if (flipped) {
+			g.drawImage(src, width, 0, -width, height, null);
+		} else {
+			g.drawImage(src, 0, 0, width, height, null);
+		}
+		g.dispose();
+		return img;
+	}
+
+	public BufferedImage getFrame(int row, int index, boolean flipped) {
+		if (flipped) {
+			return flippedFrames[row][index];
+		}
+		return frames[row][index];
+	}
+
+}
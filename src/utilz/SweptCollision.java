@@ -0,0 +1,123 @@
+package utilz;
+
+import java.awt.geom.Rectangle2D;
+
+import levels.TileGrid;
+import main.Game;
+
+public class SweptCollision {
+
+	// gap left between a resolved hitbox and the tile it touches, the corner probes treat edges as inclusive
+	public static final float SKIN = 0.01f;
+
+	public static class Result {
+		public boolean hit;
+		public float x, y;
+
+		private void set(Rectangle2D.Float hitbox) {
+			hit = false;
+			x = hitbox.x;
+			y = hitbox.y;
+		}
+	}
+
+	// sweeps the hitbox dx along x, checking every tile column the leading edge crosses
+	public static Result sweepX(Rectangle2D.Float hitbox, float dx, TileGrid lvlData, Result result) {
+		result.set(hitbox);
+		result.x = hitbox.x + dx;
+		if (dx == 0) {
+			return result;
+		}
+		int firstRow = tile(hitbox.y);
+		int lastRow = tile(hitbox.y + hitbox.height);
+
+		if (dx > 0) {
+			float right = hitbox.x + hitbox.width;
+			int toCol = tile(right + dx);
+			for (int col = tile(right) + 1; col <= toCol; col++) {
+				if (isColumnBlocked(col, firstRow, lastRow, lvlData)) {
+					float contactX = col * Game.TILES_SIZE - SKIN - hitbox.width;
+					return hit(result, contactX, hitbox.y);
+				}
+			}
+		} else {
+			int toCol = tile(hitbox.x + dx);
+			for (int col = tile(hitbox.x) - 1; col >= toCol; col--) {
+				if (isColumnBlocked(col, firstRow, lastRow, lvlData)) {
+					float contactX = (col + 1) * Game.TILES_SIZE;
+					return hit(result, contactX, hitbox.y);
+				}
+			}
+		}
+		return result;
+	}
+
+	// sweeps the hitbox dy along y, one way platforms only stop downward movement
+	public static Result sweepY(Rectangle2D.Float hitbox, float dy, TileGrid lvlData, Result result) {
+		result.set(hitbox);
+		result.y = hitbox.y + dy;
+		if (dy == 0) {
+			return result;
+		}
+		int firstCol = tile(hitbox.x);
+		int lastCol = tile(hitbox.x + hitbox.width);
+
+		if (dy > 0) {
+			float bottom = hitbox.y + hitbox.height;
+			int toRow = tile(bottom + dy);
+			for (int row = tile(bottom) + 1; row <= toRow; row++) {
+				if (isRowBlocked(row, firstCol, lastCol, true, lvlData)) {
+					float contactY = row * Game.TILES_SIZE - SKIN - hitbox.height;
+					return hit(result, hitbox.x, contactY);
+				}
+			}
+		} else {
+			int toRow = tile(hitbox.y + dy);
+			for (int row = tile(hitbox.y) - 1; row >= toRow; row--) {
+				if (isRowBlocked(row, firstCol, lastCol, false, lvlData)) {
+					float contactY = (row + 1) * Game.TILES_SIZE;
+					return hit(result, hitbox.x, contactY);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static Result hit(Result result, float x, float y) {
+		result.hit = true;
+		result.x = x;
+		result.y = y;
+		return result;
+	}
+
+	private static boolean isColumnBlocked(int col, int firstRow, int lastRow, TileGrid lvlData) {
+		for (int row = firstRow; row <= lastRow; row++) {
+			if (isBlocked(col, row, lvlData)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isRowBlocked(int row, int firstCol, int lastCol, boolean falling, TileGrid lvlData) {
+		for (int col = firstCol; col <= lastCol; col++) {
+			if (isBlocked(col, row, lvlData) || (falling && lvlData.isOneWay(col, row))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// the level ends at the bottom of the screen, the same limit isSolid uses
+	private static boolean isBlocked(int col, int row, TileGrid lvlData) {
+		if (row * Game.TILES_SIZE >= Game.GAME_HEIGHT) {
+			return true;
+		}
+		return lvlData.isSolid(col, row);
+	}
+
+	private static int tile(float pos) {
+		return (int) Math.floor(pos / Game.TILES_SIZE);
+	}
+
+}
@@ -0,0 +1,85 @@
+package utilz;
+
+import java.util.Arrays;
+
+/*
+ * Fixed size histogram of nanosecond durations, recording never allocates.
+ * Buckets are exact below 16ns and otherwise 16 per power of two, so percentiles are within ~6%.
+ * Meant for one writer thread; readers on other threads may see a slightly stale picture.
+ */
+public class TimingHistogram {
+
+	private static final int SUB_BITS = 4;
+	private static final int SUB_COUNT = 1 << SUB_BITS;
+	private static final int BUCKET_COUNT = (64 - SUB_BITS) * SUB_COUNT;
+
+	private final long[] counts = new long[BUCKET_COUNT];
+	private long count;
+	private long total;
+	private long max;
+
+	public void record(long nanos) {
+		if (nanos < 0) {
+			nanos = 0;
+		}
+		counts[bucketOf(nanos)]++;
+		count++;
+		total += nanos;
+		if (nanos > max) {
+			max = nanos;
+		}
+	}
+
+	private static int bucketOf(long value) {
+		if (value < SUB_COUNT) {
+			return (int) value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+		return (shift + 1) * SUB_COUNT + (int) ((value >>> shift) & (SUB_COUNT - 1));
+	}
+
+	private static long upperBoundOf(int bucket) {
+		if (bucket < SUB_COUNT) {
+			return bucket;
+		}
+		int shift = bucket / SUB_COUNT - 1;
+		long lower = (long) (SUB_COUNT + bucket % SUB_COUNT) << shift;
+		return lower + (1L << shift) - 1;
+	}
+
+	// smallest recorded bucket bound that covers the given fraction of samples, 0..1
+	public long getPercentile(double fraction) {
+		if (count == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long) Math.ceil(count * fraction));
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts[i];
+			if (seen >= target) {
+				return Math.min(upperBoundOf(i), max);
+			}
+		}
+		return max;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getMean() {
+		return count == 0 ? 0 : total / count;
+	}
+
+	public long getMax() {
+		return max;
+	}
+
+	public void reset() {
+		Arrays.fill(counts, 0);
+		count = 0;
+		total = 0;
+		max = 0;
+	}
+
+}
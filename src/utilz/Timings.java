@@ -0,0 +1,93 @@
+package utilz;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/*
+ * Per section tick and frame times. Sections are recorded by the thread that runs them,
+ * update sections on the game thread and draw sections on whichever thread renders.
+ * -Dplatformer.timings=file writes them as csv when the game exits.
+ */
+public class Timings {
+
+	public static final int TICK = 0;
+	public static final int PLAYING_UPDATE = 1;
+	public static final int PLAYER_UPDATE = 2;
+	public static final int ENEMY_UPDATE = 3;
+	public static final int FRAME = 4;
+	public static final int LEVEL_DRAW = 5;
+	public static final int ENEMY_DRAW = 6;
+	public static final int OVERLAY_DRAW = 7;
+	public static final int INPUT_LATENCY = 8;
+
+	public static final String[] NAMES = { "tick", "playing.update", "player.update", "enemies.update", "frame", "level.draw",
+			"enemies.draw", "overlays.draw", "input.latency" };
+
+	public static final String CSV_FILE = System.getProperty("platformer.timings");
+
+	private static final TimingHistogram[] HISTOGRAMS = new TimingHistogram[NAMES.length];
+	private static volatile int fps, ups;
+
+	static {
+		for (int i = 0; i < HISTOGRAMS.length; i++) {
+			HISTOGRAMS[i] = new TimingHistogram();
+		}
+		if (CSV_FILE != null) {
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					exportCsv(new File(CSV_FILE));
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}, "timings-export"));
+		}
+	}
+
+	public static void record(int section, long nanos) {
+		HISTOGRAMS[section].record(nanos);
+	}
+
+	public static TimingHistogram get(int section) {
+		return HISTOGRAMS[section];
+	}
+
+	public static void reset() {
+		for (TimingHistogram h : HISTOGRAMS) {
+			h.reset();
+		}
+	}
+
+	public static void setFps(int frames) {
+		fps = frames;
+	}
+
+	public static void setUps(int updates) {
+		ups = updates;
+	}
+
+	public static int getFps() {
+		return fps;
+	}
+
+	public static int getUps() {
+		return ups;
+	}
+
+	public static void exportCsv(File file) throws IOException {
+		try (PrintWriter out = new PrintWriter(file, "UTF-8")) {
+			out.println("section,count,mean_us,p50_us,p99_us,max_us");
+			for (int i = 0; i < HISTOGRAMS.length; i++) {
+				TimingHistogram h = HISTOGRAMS[i];
+				out.println(NAMES[i] + "," + h.getCount() + "," + micros(h.getMean()) + "," + micros(h.getPercentile(0.5)) + ","
+						+ micros(h.getPercentile(0.99)) + "," + micros(h.getMax()));
+			}
+		}
+	}
+
+	private static String micros(long nanos) {
+		return String.format(Locale.ROOT, "%.1f", nanos / 1000.0);
+	}
+
+}
@@ -0,0 +1,48 @@
+package utilz;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/*
+ * Lock free hand-off of the latest value from one writer thread to one reader thread.
+ * The writer fills its back buffer and publishes it, the reader fetches whenever it wants the newest one.
+ * Neither side ever waits, and a slow reader simply skips values.
+ */
+public class TripleBuffer<T> {
+
+	private static final int INDEX_MASK = 3;
+	private static final int FRESH = 4;
+
+	private final T[] buffers;
+	private final AtomicInteger middle = new AtomicInteger(2);
+	private int writeIndex = 0;
+	private int readIndex = 1;
+
+	@SuppressWarnings("unchecked")
+	public TripleBuffer(Supplier<T> factory) {
+		buffers = (T[]) new Object[] { factory.get(), factory.get(), factory.get() };
+	}
+
+	// writer side
+	public T getWriteBuffer() {
+		return buffers[writeIndex];
+	}
+
+	public void publish() {
+		writeIndex = middle.getAndSet(writeIndex | FRESH) & INDEX_MASK;
+	}
+
+	// reader side, true when a newer value replaced the read buffer
+	public boolean fetch() {
+		if ((middle.get() & FRESH) == 0) {
+			return false;
+		}
+		readIndex = middle.getAndSet(readIndex) & INDEX_MASK;
+		return true;
+	}
+
+	public T getReadBuffer() {
+		return buffers[readIndex];
+	}
+
+}
@@ -0,0 +1,64 @@
+package utilz;
+
+import main.Game;
+
+public class Viewport {
+
+	private int xLvlOffset;
+	private int drawn, culled;
+	private int lastDrawn, lastCulled;
+
+	public void beginFrame(int xLvlOffset) {
+		this.xLvlOffset = xLvlOffset;
+		lastDrawn = drawn;
+		lastCulled = culled;
+		drawn = 0;
+		culled = 0;
+	}
+
+	// world coordinates, counts the item as drawn or culled
+	public boolean isVisible(float worldX, int width) {
+		return isOnScreen(worldX - xLvlOffset, width);
+	}
+
+	// screen coordinates, for layers that scroll at their own rate (parallax)
+	public boolean isOnScreen(float screenX, int width) {
+		if (screenX + width > 0 && screenX < Game.GAME_WIDTH) {
+			drawn++;
+			return true;
+		}
+		culled++;
+		return false;
+	}
+
+	// index of the first column of the given width that overlaps the screen
+	public int getFirstColumn(int columnWidth) {
+		return Math.max(xLvlOffset / columnWidth, 0);
+	}
+
+	public int getLastColumn(int columnWidth, int columns) {
+		return Math.min((xLvlOffset + Game.GAME_WIDTH - 1) / columnWidth, columns - 1);
+	}
+
+	public void countDrawn(int amount) {
+		drawn += amount;
+	}
+
+	public void countCulled(int amount) {
+		culled += amount;
+	}
+
+	public int getXLvlOffset() {
+		return xLvlOffset;
+	}
+
+	// counts of the last finished frame
+	public int getDrawnCount() {
+		return lastDrawn;
+	}
+
+	public int getCulledCount() {
+		return lastCulled;
+	}
+
+}
@@ -0,0 +1,104 @@
+package checks;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URISyntaxException;
+
+import entities.Player;
+import gameStates.Gamestate;
+import gameStates.Playing;
+import main.Game;
+import utilz.LoadSave;
+
+/*
+ * Allocation regression check: plays every level headless and fails when the steady state
+ * update or draw allocates more than its budget. Warmup rounds are not counted, so the JIT
+ * has settled and escape analysis is in effect, as it is for a player after a few seconds.
+ * Usage: AllocationCheck [ticks per level] [update budget bytes/tick] [draw budget bytes/frame]
+ * mvn verify runs it with the defaults and fails the build when it exits non-zero.
+ */
+public class AllocationCheck {
+
+	private static final int WARMUP_ROUNDS = 2;
+	// 200 UPS against 120 FPS, close enough to one frame every other tick
+	private static final int TICKS_PER_FRAME = 2;
+
+	private final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+	private final long threadId = Thread.currentThread().getId();
+	private final Game game;
+	private final Playing playing;
+	private final Graphics g;
+	private long updateBytes, drawBytes;
+	private int tick;
+
+	public AllocationCheck() throws URISyntaxException, IOException {
+		game = new Game(true);
+		playing = game.getPlaying();
+		Gamestate.state = Gamestate.PLAYING;
+		playing.setLvlCompleted(false);
+		BufferedImage canvas = LoadSave.createCompatibleImage(Game.GAME_WIDTH, Game.GAME_HEIGHT);
+		g = canvas.getGraphics();
+	}
+
+	private void run(int ticks) {
+		updateBytes = 0;
+		drawBytes = 0;
+		for (int i = 0; i < ticks; i++) {
+			steer();
+			long before = threads.getThreadAllocatedBytes(threadId);
+			game.update();
+			long afterUpdate = threads.getThreadAllocatedBytes(threadId);
+			updateBytes += afterUpdate - before;
+			if (i % TICKS_PER_FRAME == 0) {
+				game.render(g);
+				drawBytes += threads.getThreadAllocatedBytes(threadId) - afterUpdate;
+			}
+			tick++;
+		}
+	}
+
+	// runs back and forth, jumping and attacking, so every enemy state gets exercised
+	private void steer() {
+		Player player = playing.getPlayer();
+		int phase = (tick / 400) % 4;
+		player.setRight(phase < 2);
+		player.setLeft(phase >= 2);
+		player.setJump(tick % 150 < 3);
+		if (tick % 90 == 0) {
+			player.setAttacking(true);
+		}
+	}
+
+	public static void main(String[] args) throws URISyntaxException, IOException {
+		if (System.getProperty("java.awt.headless") == null) {
+			System.setProperty("java.awt.headless", "true");
+		}
+		int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+		double updateBudget = args.length > 1 ? Double.parseDouble(args[1]) : 16;
+		double drawBudget = args.length > 2 ? Double.parseDouble(args[2]) : 16;
+		int frames = (ticks + TICKS_PER_FRAME - 1) / TICKS_PER_FRAME;
+
+		AllocationCheck check = new AllocationCheck();
+		boolean failed = false;
+		int levels = check.playing.getLevelManager().getAmountOfLevels();
+		for (int level = 1; level <= levels; level++) {
+			if (level > 1) {
+				check.playing.loadNextLevel();
+			}
+			for (int i = 0; i < WARMUP_ROUNDS; i++) {
+				check.run(ticks);
+			}
+			check.run(ticks);
+			double perTick = check.updateBytes / (double) ticks;
+			double perFrame = check.drawBytes / (double) frames;
+			boolean ok = perTick <= updateBudget && perFrame <= drawBudget;
+			failed |= !ok;
+			System.out.printf("Level %d | Update: %.1f B/tick (budget %.0f) | Draw: %.1f B/frame (budget %.0f) | %s%n", level, perTick,
+					updateBudget, perFrame, drawBudget, ok ? "OK" : "OVER BUDGET");
+		}
+		System.exit(failed ? 1 : 0);
+	}
+
+}
@@ -0,0 +1,124 @@
+package checks;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+
+import entities.Player;
+import gameStates.Gamestate;
+import gameStates.Playing;
+import levels.CompiledLevel;
+import levels.Level;
+import levels.LevelCompiler;
+import levels.TileGrid;
+import levels.Tileset;
+import main.Game;
+
+/*
+ * Determinism check for the two-phase enemy tick: plays the same scripted ticks on a level crowded with crabs,
+ * once with every tick on the enemy workers and once without them, and fails unless the state hashes agree after every tick.
+ * Usage: ParallelEnemyCheck [ticks] [level file]
+ */
+public class ParallelEnemyCheck {
+
+	private static final int COPIES = 8;
+	// often enough that the player never stays dead for long
+	private static final int RESET_TICKS = 1000;
+
+	private final Game game;
+	private final Playing playing;
+	private int tick;
+	private int deaths;
+
+	public ParallelEnemyCheck(CompiledLevel crowded, int parallelThreshold) throws URISyntaxException, IOException {
+		game = new Game(true);
+		playing = game.getPlaying();
+		Gamestate.state = Gamestate.PLAYING;
+		playing.setLvlCompleted(false);
+		// the crowded level has the same tiles as the one LevelManager loaded, only the spawns differ
+		Level level = new Level(crowded);
+		playing.getEnemyManager().loadEnemies(level);
+		playing.getEnemyManager().setParallelThreshold(parallelThreshold);
+		playing.getPlayer().loadLvlData(level.getLevelData());
+	}
+
+	private long[] run(int ticks) {
+		long[] hashes = new long[ticks];
+		for (int i = 0; i < ticks; i++) {
+			steer();
+			if (tick > 0 && tick % RESET_TICKS == 0) {
+				playing.resetAll();
+			}
+			int before = playing.getEnemyManager().getStore().getCount();
+			game.update();
+			deaths += Math.max(0, before - playing.getEnemyManager().getStore().getCount());
+			hashes[i] = game.computeStateHash();
+			tick++;
+		}
+		return hashes;
+	}
+
+	// runs back and forth, jumping and attacking, so crabs chase, hit the player and die
+	private void steer() {
+		Player player = playing.getPlayer();
+		int phase = (tick / 300) % 4;
+		player.setRight(phase < 2);
+		player.setLeft(phase >= 2);
+		player.setJump(tick % 170 < 3);
+		if (tick % 40 == 0) {
+			player.setAttacking(true);
+		}
+	}
+
+	// a crab on every other walkable tile, stacked COPIES deep so the workers get several chunks
+	private static CompiledLevel crowd(CompiledLevel base) {
+		TileGrid grid = base.createTileGrid(Tileset.getOutside());
+		List<int[]> spawns = new ArrayList<>();
+		for (int j = 0; j < grid.getHeight() - 1; j++) {
+			for (int i = 1; i < grid.getWidth() - 1; i++) {
+				if (!grid.isSolid(i, j) && grid.isSolid(i, j + 1) && (i + j) % 2 == 0) {
+					spawns.add(new int[] { i, j });
+				}
+			}
+		}
+		int n = spawns.size() * COPIES;
+		int[] types = new int[n], xs = new int[n], ys = new int[n];
+		for (int i = 0; i < n; i++) {
+			int[] spawn = spawns.get(i % spawns.size());
+			xs[i] = spawn[0];
+			ys[i] = spawn[1];
+		}
+		return new CompiledLevel(base.getWidth(), base.getHeight(), base.getTiles(), base.getSpawnX(), base.getSpawnY(), types, xs, ys);
+	}
+
+	public static void main(String[] args) throws URISyntaxException, IOException {
+		if (System.getProperty("java.awt.headless") == null) {
+			System.setProperty("java.awt.headless", "true");
+		}
+		int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 6000;
+		CompiledLevel crowded = crowd(LevelCompiler.load(args.length > 1 ? args[1] : "1.png"));
+
+		ParallelEnemyCheck parallel = new ParallelEnemyCheck(crowded, 1);
+		int crabs = parallel.playing.getEnemyManager().getStore().getSpawnCount();
+		long[] expected = parallel.run(ticks);
+		ParallelEnemyCheck sequential = new ParallelEnemyCheck(crowded, Integer.MAX_VALUE);
+		long[] actual = sequential.run(ticks);
+
+		if (sequential.deaths == 0) {
+			System.out.println("Parallel enemies | No crab died, the swap-remove path went untested");
+			System.exit(1);
+		}
+		for (int i = 0; i < ticks; i++) {
+			if (expected[i] != actual[i]) {
+				System.out.println("Parallel enemies | Diverged at tick " + i + " | Parallel: " + Long.toHexString(expected[i])
+						+ " | Sequential: " + Long.toHexString(actual[i]));
+				System.exit(1);
+			}
+		}
+		System.out.println("Parallel enemies | Crabs: " + crabs + " | Ticks: " + ticks + " | Deaths: " + sequential.deaths
+				+ " | Hashes matched: " + ticks + " | OK");
+		System.exit(0);
+	}
+
+}